@@ -19,6 +19,7 @@ import org.codehaus.mojo.license.model.Dependency;
 import org.codehaus.mojo.license.model.LicenseMap;
 import org.codehaus.mojo.license.utils.FileUtil;
 import org.codehaus.mojo.license.utils.LicenseRegistryClient;
+import org.codehaus.mojo.license.utils.LicenseResolutionCache;
 import org.codehaus.mojo.license.utils.MojoHelper;
 import org.codehaus.mojo.license.utils.SortedProperties;
 import org.codehaus.mojo.license.utils.StringToList;
@@ -430,6 +431,71 @@ public abstract class AbstractAddThirdPartyMojo
     @Parameter( property = "license.useXrayProcessor", defaultValue = "false" )
     private Boolean isUseXrayProcessor;
 
+    /**
+     * Maximum number of concurrent remote license lookups (Sonatype, Xray).
+     * <p>
+     * A value of {@code 1} performs lookups one after another.
+     */
+    @Parameter( property = "license.remoteLookupThreads", defaultValue = "1" )
+    int remoteLookupThreads;
+
+    /**
+     * Maximum number of dependency POMs built concurrently.
+     * <p>
+     * A value of {@code 1} builds them one after another.
+     */
+    @Parameter( property = "license.pomBuildThreads", defaultValue = "1" )
+    int pomBuildThreads;
+
+    /**
+     * A flag to read the licenses of dependencies straight from their pom in the local repository, following parent
+     * poms only when licenses are not declared. Dependencies whose pom can not be read this way are built as usual.
+     */
+    @Parameter( property = "license.lightPomReader", defaultValue = "false" )
+    boolean lightPomReader;
+
+    /**
+     * A flag to keep the licenses found by remote lookups (Sonatype, Xray) in a persistent cache shared by builds.
+     */
+    @Parameter( property = "license.remoteCache", defaultValue = "false" )
+    boolean remoteCache;
+
+    /**
+     * Directory of the persistent cache of remote license lookups.
+     */
+    @Parameter( property = "license.remoteCacheDirectory", defaultValue = "${user.home}/.m2/license-cache" )
+    File remoteCacheDirectory;
+
+    /**
+     * How long, in hours, a license found by a remote lookup is kept in the cache.
+     */
+    @Parameter( property = "license.remoteCacheTtl", defaultValue = "168" )
+    int remoteCacheTtl;
+
+    /**
+     * How long, in hours, a remote lookup that found no license is kept in the cache.
+     */
+    @Parameter( property = "license.remoteCacheNegativeTtl", defaultValue = "12" )
+    int remoteCacheNegativeTtl;
+
+    /**
+     * A flag to never expire licenses found for release versions. SNAPSHOT versions are always looked up again.
+     */
+    @Parameter( property = "license.remoteCacheKeepReleases", defaultValue = "false" )
+    boolean remoteCacheKeepReleases;
+
+    /**
+     * Maximum number of dependencies (as maven project) kept in the cache shared by the mojos of the session.
+     */
+    @Parameter( property = "license.artifactCacheSize", defaultValue = "10000" )
+    int artifactCacheSize;
+
+    /**
+     * A flag to let the garbage collector reclaim dependencies kept in the cache when memory is short.
+     */
+    @Parameter( property = "license.artifactCacheSoftValues", defaultValue = "false" )
+    boolean artifactCacheSoftValues;
+
     // ----------------------------------------------------------------------
     // Plexus components
     // ----------------------------------------------------------------------
@@ -535,9 +601,9 @@ public abstract class AbstractAddThirdPartyMojo
 
         getLog().info(String.format("Loading WHITE licenses: %s", licenseFileWhitelist));
         final LicenseRegistryClient licenseRegistryClient = LicenseRegistryClient.getInstance();
-        this.includedLicenses = new IncludedLicenses(licenseRegistryClient.getFileContent(licenseFileWhitelist));
+        this.includedLicenses = new IncludedLicenses(licenseRegistryClient.getLicenseList(licenseFileWhitelist));
         getLog().info("Loading HIDDEN licenses: licenses-hidden.txt");
-        this.hiddenLicenses = new HiddenLicenses(licenseRegistryClient.getFileContent("licenses-hidden.txt"));
+        this.hiddenLicenses = new HiddenLicenses(licenseRegistryClient.getLicenseList("licenses-hidden.txt"));
 
         if (StringUtils.isNotBlank(includedDependenciesWhitelist)) {
             getLog().info(String.format("Loading Dependencies Whitelist: %s", includedDependenciesWhitelist));
@@ -641,6 +707,22 @@ public abstract class AbstractAddThirdPartyMojo
         return failIfWarning;
     }
 
+    /**
+     * @return maximum number of dependency POMs built concurrently
+     */
+    public int getPomBuildThreads()
+    {
+        return pomBuildThreads;
+    }
+
+    /**
+     * @return {@code true} to read the licenses of dependencies straight from their pom
+     */
+    public boolean isLightPomReader()
+    {
+        return lightPomReader;
+    }
+
     SortedMap<String, MavenProject> getProjectDependencies()
     {
         return projectDependencies;
@@ -743,11 +825,39 @@ public abstract class AbstractAddThirdPartyMojo
             helper =
                     new DefaultThirdPartyHelper( getProject(), getEncoding(), isVerbose(), dependenciesTool, thirdPartyTool,
                                                  localRepository, remoteRepositories, getLog(), artifactoryUrl,
-                                                 artifactoryAccessToken, isUseSonatypeProcessor, isUseXrayProcessor );
+                                                 artifactoryAccessToken, isUseSonatypeProcessor, isUseXrayProcessor,
+                                                 remoteLookupThreads, createLicenseResolutionCache(),
+                                                 ArtifactCache.forSession( getSession(), artifactCacheSize,
+                                                                           artifactCacheSoftValues ) );
         }
         return helper;
     }
 
+    LicenseResolutionCache createLicenseResolutionCache()
+    {
+        if ( !remoteCache )
+        {
+            return null;
+        }
+        return new LicenseResolutionCache( remoteCacheDirectory, remoteCacheTtl, remoteCacheNegativeTtl,
+                                           remoteCacheKeepReleases, getLog() );
+    }
+
+    /**
+     * Copies the parameters of the persistent cache of remote lookups from another mojo (module mojos of an aggregate
+     * are not configured by Maven).
+     *
+     * @param mojo the configured mojo
+     */
+    void copyRemoteCacheParameters( AbstractAddThirdPartyMojo mojo )
+    {
+        remoteCache = mojo.remoteCache;
+        remoteCacheDirectory = mojo.remoteCacheDirectory;
+        remoteCacheTtl = mojo.remoteCacheTtl;
+        remoteCacheNegativeTtl = mojo.remoteCacheNegativeTtl;
+        remoteCacheKeepReleases = mojo.remoteCacheKeepReleases;
+    }
+
     void resolveUnsafeDependenciesFromArtifact(String groupId, String artifactId, String version)
             throws ArtifactNotFoundException, IOException, ArtifactResolutionException
     {
@@ -785,7 +895,10 @@ public abstract class AbstractAddThirdPartyMojo
             }
 
             // remove resolvedDependencies from unsafeDeps;
-            unsafeDeps.removeAll( resolvedDependencies );
+            for ( MavenProject resolvedDependency : resolvedDependencies )
+            {
+                licenseMap.remove( LicenseMap.UNKNOWN_LICENSE_MESSAGE, resolvedDependency );
+            }
         }
     }
 
@@ -892,7 +1005,9 @@ public abstract class AbstractAddThirdPartyMojo
                     }
                     if (!dependenciesWithAllowedLicenses.isEmpty()) {
                         getLog().info(dependenciesWithAllowedLicenses.toString() + " has forbidden '" + dependencyLicense + "' but are also licensed with good one");
-                        artifactsWithLicense.removeAll(dependenciesWithAllowedLicenses);
+                        for (MavenProject dependency : dependenciesWithAllowedLicenses) {
+                            getLicenseMap().remove(dependencyLicense, dependency);
+                        }
                     }
                 }
             }
@@ -1103,6 +1218,17 @@ public abstract class AbstractAddThirdPartyMojo
             super( data );
         }
 
+        /**
+         * Constructor used when {@link #includedLicenses} parameter is loaded from the license registry.
+         *
+         * @param data the already split licenses.
+         */
+        IncludedLicenses(Collection<String> data)
+        {
+            super();
+            getData().addAll( data );
+        }
+
         /**
          * Add a simple a include license to the list.
          *
@@ -1138,6 +1264,17 @@ public abstract class AbstractAddThirdPartyMojo
             super( data );
         }
 
+        /**
+         * Constructor used when {@link #hiddenLicenses} parameter is loaded from the license registry.
+         *
+         * @param data the already split licenses.
+         */
+        HiddenLicenses(Collection<String> data)
+        {
+            super();
+            getData().addAll( data );
+        }
+
         /**
          * Add a simple a include license to the list.
          *
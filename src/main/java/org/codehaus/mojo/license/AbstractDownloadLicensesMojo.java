@@ -20,7 +20,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.StringReader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
@@ -246,6 +245,80 @@ public abstract class AbstractDownloadLicensesMojo
     @Parameter(property = "license.useXrayProcessor", defaultValue = "false")
     private Boolean isUseXrayProcessor;
 
+    /**
+     * Maximum number of concurrent remote license lookups (Sonatype, Xray).
+     * <p>
+     * A value of {@code 1} performs lookups one after another.
+     */
+    @Parameter(property = "license.remoteLookupThreads", defaultValue = "1")
+    private int remoteLookupThreads;
+
+    /**
+     * Maximum number of dependency POMs built concurrently.
+     * <p>
+     * A value of {@code 1} builds them one after another.
+     */
+    @Parameter(property = "license.pomBuildThreads", defaultValue = "1")
+    private int pomBuildThreads;
+
+    /**
+     * Maximum number of license files downloaded concurrently, over a shared pool of keep-alive connections.
+     * <p>
+     * A value of {@code 1} downloads them one after another.
+     */
+    @Parameter(property = "license.downloadThreads", defaultValue = "1")
+    private int downloadThreads;
+
+    /**
+     * A flag to keep downloaded license texts in a store shared by builds. Texts are then only revalidated with
+     * conditional requests, and copied from the store.
+     */
+    @Parameter(property = "license.textStore", defaultValue = "false")
+    private boolean textStore;
+
+    /**
+     * Directory of the store of license texts.
+     */
+    @Parameter(property = "license.textStoreDirectory", defaultValue = "${user.home}/.m2/license-texts")
+    private File textStoreDirectory;
+
+    /**
+     * A flag to read the licenses of dependencies straight from their pom in the local repository, following parent
+     * poms only when licenses are not declared. Dependencies whose pom can not be read this way are built as usual.
+     */
+    @Parameter(property = "license.lightPomReader", defaultValue = "false")
+    private boolean lightPomReader;
+
+    /**
+     * A flag to keep the licenses found by remote lookups (Sonatype, Xray) in a persistent cache shared by builds.
+     */
+    @Parameter(property = "license.remoteCache", defaultValue = "false")
+    private boolean remoteCache;
+
+    /**
+     * Directory of the persistent cache of remote license lookups.
+     */
+    @Parameter(property = "license.remoteCacheDirectory", defaultValue = "${user.home}/.m2/license-cache")
+    private File remoteCacheDirectory;
+
+    /**
+     * How long, in hours, a license found by a remote lookup is kept in the cache.
+     */
+    @Parameter(property = "license.remoteCacheTtl", defaultValue = "168")
+    private int remoteCacheTtl;
+
+    /**
+     * How long, in hours, a remote lookup that found no license is kept in the cache.
+     */
+    @Parameter(property = "license.remoteCacheNegativeTtl", defaultValue = "12")
+    private int remoteCacheNegativeTtl;
+
+    /**
+     * A flag to never expire licenses found for release versions. SNAPSHOT versions are always looked up again.
+     */
+    @Parameter(property = "license.remoteCacheKeepReleases", defaultValue = "false")
+    private boolean remoteCacheKeepReleases;
+
     // ----------------------------------------------------------------------
     // Plexus Components
     // ----------------------------------------------------------------------
@@ -358,15 +431,10 @@ public abstract class AbstractDownloadLicensesMojo
             licenseMap = calculateLicenseMap(projectDependenciesMap, dependencies);
         }
 
-        Properties licenseProperties = new Properties();
-
-        try {
-            getLog().info("Loading license urls from licenses.properties");
-            licenseProperties.load(new StringReader(LicenseRegistryClient.getInstance().getFileContent("licenses.properties")));
-        } catch (IOException e) {
-            throw new MojoExecutionException("Can't fetch external third-party dependencies from licenses.properties", e );
-        }
+        getLog().info("Loading license urls from licenses.properties");
+        Map<String, String> licenseProperties = LicenseRegistryClient.getInstance().getLicenseUrls();
 
+        LicenseUrlResolver licenseUrlResolver = new LicenseUrlResolver(dependencies, licenseMerges, getLog());
         Map<String, String> licenseUrlMap = new TreeMap<>();
         Set<String> unresolvedLicenses = new TreeSet<>();
         for (String licenseName : licenseMap.keySet()) {
@@ -375,10 +443,10 @@ public abstract class AbstractDownloadLicensesMojo
             }
             String licenseURL;
             if (licenseProperties.containsKey(licenseName)) {
-                licenseURL = licenseProperties.getProperty(licenseName);
+                licenseURL = licenseProperties.get(licenseName);
                 getLog().info("license for " + licenseName + " is found = '" + licenseURL + "'");
             } else {
-                licenseURL = getLicenseUrlFromProjects(licenseMap, licenseName, dependencies);
+                licenseURL = licenseUrlResolver.getLicenseUrl(licenseMap, licenseName);
                 getLog().info("URL from projects for " + licenseName + " = '" + licenseURL + "'");
             }
             if (licenseURL != null) {
@@ -388,13 +456,7 @@ public abstract class AbstractDownloadLicensesMojo
             }
         }
 
-        Map<String, String> failedLicenses = new HashMap<>();
-        for (String license : licenseUrlMap.keySet()) {
-            String licenseUrl = licenseUrlMap.get(license);
-            if (!downloadLicense(license, licenseUrl)) {
-                failedLicenses.put(license, licenseUrl);
-            }
-        }
+        Map<String, String> failedLicenses = downloadLicenses(licenseUrlMap);
         if (!unresolvedLicenses.isEmpty()) {
             StringBuilder message = new StringBuilder("\n");
             for (String lic : unresolvedLicenses) {
@@ -407,7 +469,11 @@ public abstract class AbstractDownloadLicensesMojo
             }
         }
         if (!failedLicenses.isEmpty()) {
-            throw new MojoFailureException("Failed to download licenses by the following urls: " + failedLicenses.toString());
+            StringBuilder message = new StringBuilder("\n");
+            for (Map.Entry<String, String> entry : failedLicenses.entrySet()) {
+                message.append(entry.getKey()).append(" -> ").append(entry.getValue()).append("\n");
+            }
+            throw new MojoFailureException("Failed to download licenses by the following urls: " + message);
         }
     }
 
@@ -415,7 +481,7 @@ public abstract class AbstractDownloadLicensesMojo
         ThirdPartyHelper thirdPartyHelper =
                 new DefaultThirdPartyHelper(project, getEncoding(), isVerbose(), dependenciesTool, thirdPartyTool, localRepository,
                         project.getRemoteArtifactRepositories(), getLog(), artifactoryUrl, artifactoryAccessToken,
-                        isUseSonatypeProcessor, isUseXrayProcessor);
+                        isUseSonatypeProcessor, isUseXrayProcessor, remoteLookupThreads, createLicenseResolutionCache(), null);
         LicenseMap licenseMap = thirdPartyHelper.createLicenseMap(dependencies, proxyUrl);
 
         overrideLicenses(licenseMap, projectDependenciesMap);
@@ -424,6 +490,14 @@ public abstract class AbstractDownloadLicensesMojo
         return licenseMap;
     }
 
+    private LicenseResolutionCache createLicenseResolutionCache() {
+        if (!remoteCache) {
+            return null;
+        }
+        return new LicenseResolutionCache(remoteCacheDirectory, remoteCacheTtl, remoteCacheNegativeTtl,
+                remoteCacheKeepReleases, getLog());
+    }
+
     void overrideLicenses(LicenseMap licenseMap, SortedMap<String, MavenProject> projectDependencies) throws MojoFailureException {
 //        thirdPartyTool.overrideLicenses( licenseMap1, projectDependencies, getEncoding(), overrideFile );
 
@@ -435,79 +509,121 @@ public abstract class AbstractDownloadLicensesMojo
     }
 
 
-    private boolean downloadLicense(String license, String licenseUrl) {
-        try {
-            String licenseFileName = getLicenseFileName(null, license, licenseUrl);
+    /**
+     * Downloads the license files which are not there yet.
+     * <p>
+     * The first license of each url is downloaded by a pool of {@link #downloadThreads} workers. The other licenses of
+     * an url depend on the outcome of that download (an url is downloaded once), so they are processed afterwards,
+     * one after another.
+     *
+     * @param licenseUrlMap url by license
+     * @return the url and failure reason by license, for the licenses which could not be downloaded
+     * @throws MojoExecutionException if the proxy url is malformed
+     */
+    private Map<String, String> downloadLicenses(Map<String, String> licenseUrlMap) throws MojoExecutionException {
+        Map<String, String> failedLicenses = new TreeMap<>();
+        Map<String, File> licensesToDownload = new LinkedHashMap<>();
+        List<String> sharedUrlLicenses = new ArrayList<>();
+        Set<String> urlsToDownload = new HashSet<>();
+        for (Map.Entry<String, String> entry : licenseUrlMap.entrySet()) {
+            String license = entry.getKey();
+            String licenseUrl = entry.getValue();
+            File licenseOutputFile = getLicenseOutputFile(license, licenseUrl, failedLicenses);
+            if (licenseOutputFile == null || licenseOutputFile.exists()) {
+                continue;
+            }
+            if (!organizeLicensesByDependencies && !urlsToDownload.add(licenseUrl)) {
+                sharedUrlLicenses.add(license);
+            } else if (downloadedLicenseURLs.contains(licenseUrl) && !organizeLicensesByDependencies) {
+                failedLicenses.put(license, licenseUrl + " (already downloaded for another license)");
+            } else {
+                licensesToDownload.put(license, licenseOutputFile);
+            }
+        }
 
-            File licenseOutputFile = new File(licensesOutputDirectory, licenseFileName);
-            if (licenseOutputFile.exists()) {
-                return true;
+        try (LicenseDownloader licenseDownloader =
+                     new LicenseDownloader(proxyUrl, proxyLoginPasswordEncoded, downloadThreads,
+                             textStore ? new LicenseTextStore(textStoreDirectory, getLog()) : null)) {
+            Map<String, IOException> errors = ParallelLookup.lookup(licensesToDownload.keySet(), downloadThreads,
+                    "license-download", license -> downloadLicense(licenseDownloader, license,
+                            licenseUrlMap.get(license), licensesToDownload.get(license)));
+            for (Map.Entry<String, IOException> entry : errors.entrySet()) {
+                onDownloaded(entry.getKey(), licenseUrlMap.get(entry.getKey()), entry.getValue(), failedLicenses);
             }
 
-            if (!downloadedLicenseURLs.contains(licenseUrl) || organizeLicensesByDependencies) {
-                getLog().info("Downloading " + license + " from " + licenseUrl);
-                LicenseDownloader licenseDownloader = new LicenseDownloader(proxyUrl);
-                licenseDownloader.downloadLicense(licenseUrl, proxyLoginPasswordEncoded, licenseOutputFile);
-                downloadedLicenseURLs.add(licenseUrl);
-                return true;
+            for (String license : sharedUrlLicenses) {
+                String licenseUrl = licenseUrlMap.get(license);
+                File licenseOutputFile = getLicenseOutputFile(license, licenseUrl, failedLicenses);
+                if (licenseOutputFile == null || licenseOutputFile.exists()) {
+                    continue;
+                }
+                if (downloadedLicenseURLs.contains(licenseUrl)) {
+                    failedLicenses.put(license, licenseUrl + " (already downloaded for another license)");
+                } else {
+                    IOException error = downloadLicense(licenseDownloader, license, licenseUrl, licenseOutputFile);
+                    onDownloaded(license, licenseUrl, error, failedLicenses);
+                }
             }
         } catch (MalformedURLException e) {
+            throw new MojoExecutionException("Invalid proxy url: " + proxyUrl, e);
+        }
+        return failedLicenses;
+    }
+
+    /**
+     * @return the file of the license, or {@code null} if the license url is invalid (the license is then failed)
+     */
+    private File getLicenseOutputFile(String license, String licenseUrl, Map<String, String> failedLicenses) {
+        try {
+            return new File(licensesOutputDirectory, getLicenseFileName(null, license, licenseUrl));
+        } catch (MalformedURLException e) {
+            onDownloaded(license, licenseUrl, e, failedLicenses);
+            return null;
+        }
+    }
+
+    /**
+     * Downloads a license, may be called concurrently.
+     *
+     * @return {@code null} if the license was downloaded, else the failure
+     */
+    private IOException downloadLicense(LicenseDownloader licenseDownloader, String license, String licenseUrl,
+                                        File licenseOutputFile) {
+        getLog().info("Downloading " + license + " from " + licenseUrl);
+        try {
+            licenseDownloader.downloadLicense(licenseUrl, licenseOutputFile);
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Records the outcome of a license download.
+     */
+    private void onDownloaded(String license, String licenseUrl, IOException error,
+                              Map<String, String> failedLicenses) {
+        if (error == null) {
+            downloadedLicenseURLs.add(licenseUrl);
+            return;
+        }
+        if (error instanceof MalformedURLException) {
             if (!quiet) {
                 getLog().warn(license + " has an invalid license URL: " +
                         licenseUrl);
             }
-        } catch (FileNotFoundException e) {
+            failedLicenses.put(license, licenseUrl + " (invalid URL)");
+        } else if (error instanceof FileNotFoundException) {
             if (!quiet) {
                 getLog().warn(license +
                         " has a license URL that returns file not found: " + licenseUrl);
             }
-        } catch (IOException e) {
+            failedLicenses.put(license, licenseUrl + " (not found)");
+        } else {
             getLog().warn("Unable to retrieve license " + license + " by " + licenseUrl);
-            getLog().warn(e.getMessage());
+            getLog().warn(error.getMessage());
+            failedLicenses.put(license, licenseUrl + " (" + error.getMessage() + ")");
         }
-        return false;
-    }
-
-    private String getLicenseUrlFromProjects(LicenseMap licenseMap, String licenseName, Set<MavenProject> dependencies) {
-        List<String> licenseSynonims = findLicenseSynonims(licenseName);
-        getLog().debug("synonyms for " + licenseName + " are " + licenseSynonims);
-        SortedSet<MavenProject> mavenProjects = licenseMap.get(licenseName);
-        for (MavenProject mavenProject : mavenProjects) {
-            MavenProject fullMavenProject = findMavenProject(dependencies, mavenProject);
-            List<License> licenses = fullMavenProject.getModel().getLicenses();
-            for (License licenseFromDep : licenses) {
-                if (licenseSynonims.contains(licenseFromDep.getName()) && licenseFromDep.getUrl() != null) {
-                    return licenseFromDep.getUrl();
-                }
-            }
-        }
-        return null;
-    }
-
-    private List<String> findLicenseSynonims(String licenseName) {
-        for (String licengeMergeString : licenseMerges) {
-            String[] items = licengeMergeString.split("\\s*\\|\\s*");
-            for (String item : items) {
-                if (licenseName.equals(item)) {
-                    return Arrays.asList(items);
-                }
-            }
-        }
-        return Collections.singletonList(licenseName);
-    }
-
-    private MavenProject findMavenProject(Set<MavenProject> dependencies, MavenProject mavenProject) {
-        for (MavenProject p : dependencies) {
-            if (p.getGroupId().equals(mavenProject.getGroupId()) &&
-                    p.getArtifact().equals(mavenProject.getArtifact()) &&
-                    p.getVersion().equals(mavenProject.getVersion()) &&
-                    p.getPackaging().equals(mavenProject.getPackaging())
-                    ) {
-                return p;
-            }
-        }
-        getLog().error("maven project not found for " + mavenProject);
-        return mavenProject;
     }
 
     private List<ProjectLicenseInfo> sortByGroupIdAndArtifactId(List<ProjectLicenseInfo> depProjectLicenses) {
@@ -601,6 +717,20 @@ public abstract class AbstractDownloadLicensesMojo
         return getLog().isDebugEnabled();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getPomBuildThreads() {
+        return pomBuildThreads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isLightPomReader() {
+        return lightPomReader;
+    }
+
     // ----------------------------------------------------------------------
     // Private Methods
     // ----------------------------------------------------------------------
@@ -27,16 +27,21 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.codehaus.mojo.license.api.CachingTemplateRenderer;
 import org.codehaus.mojo.license.api.FreeMarkerHelper;
 import org.codehaus.mojo.license.header.FileHeader;
+import org.codehaus.mojo.license.header.FileHeaderPrefix;
 import org.codehaus.mojo.license.header.FileHeaderProcessor;
 import org.codehaus.mojo.license.header.InvalideFileHeaderException;
 import org.codehaus.mojo.license.header.UpdateFileHeaderFilter;
 import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.HeaderInsertion;
 import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
 import org.codehaus.mojo.license.model.Copyright;
 import org.codehaus.mojo.license.model.License;
 import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.GitChangedFiles;
+import org.codehaus.mojo.license.utils.HeaderCheckCache;
 import org.codehaus.mojo.license.utils.MojoHelper;
 
 import java.io.File;
@@ -45,11 +50,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Abstract mojo for file-header operations (check, update, report,...).
@@ -292,6 +298,44 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             defaultValue = "/org/codehaus/mojo/license/default-file-header-description.ftl" )
     private String descriptionTemplate;
 
+    /**
+     * To skip on dry runs the files which did not change since the previous build.
+     * <p>
+     * The outcome of the check of each file is kept in {@link #headerCheckCacheFile}, with the size, modification
+     * time and content hash of the file. A file is checked again when it changed or when its expected header
+     * changed. The whole cache is discarded when the plugin version or the header configuration changes.
+     */
+    @Parameter( property = "license.headerCheckCache", defaultValue = "false" )
+    private boolean headerCheckCache;
+
+    /**
+     * File used to keep the outcome of header checks between builds (see {@link #headerCheckCache}).
+     */
+    @Parameter( property = "license.headerCheckCacheFile",
+            defaultValue = "${project.build.directory}/license/header-check-cache.properties" )
+    private File headerCheckCacheFile;
+
+    /**
+     * To process only the files changed since the given git ref (for example {@code origin/main}), instead of all
+     * the files of the roots.
+     * <p>
+     * The changes are the files added, modified or renamed since the merge base of this ref and {@code HEAD},
+     * including uncommitted changes and untracked files, as given by the local {@code git} binary. They are still
+     * filtered by roots, includes, excludes and extensions.
+     */
+    @Parameter( property = "license.changedSince" )
+    private String changedSince;
+
+    /**
+     * To find and rewrite headers with the nuiton processor, as in previous versions, instead of the dedicated
+     * header scanner. Both give the same result, the scanner being faster.
+     */
+    @Parameter( property = "license.legacyHeaderProcessor", defaultValue = "false" )
+    private boolean legacyHeaderProcessor;
+
+    @Parameter( defaultValue = "${plugin.version}", readonly = true )
+    private String pluginVersion;
+
     // ----------------------------------------------------------------------
     // Plexus components
     // ----------------------------------------------------------------------
@@ -308,6 +352,11 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
     // Private fields
     // ----------------------------------------------------------------------
 
+    /**
+     * Number of bytes read at the start of a file to find its header on dry runs.
+     */
+    private static final int HEADER_PREFIX_SIZE = 32 * 1024;
+
     /**
      * timestamp used for generation.
      */
@@ -327,6 +376,11 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
      */
     private Template descriptionTemplate0;
 
+    /**
+     * Renders the description section of the file header, reusing the outputs of previous files.
+     */
+    private CachingTemplateRenderer descriptionRenderer;
+
     /**
      * set of processed files
      */
@@ -337,6 +391,11 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
      */
     EnumMap<FileState, Set<File>> result;
 
+    /**
+     * Dictionary of treated files indexed by their state, filled by the workers.
+     */
+    private ConcurrentMap<FileState, Set<File>> fileStates;
+
     /**
      * Dictionary of files to treat indexed by their CommentStyle.
      */
@@ -349,6 +408,11 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
      */
     private FreeMarkerHelper freeMarkerHelper = FreeMarkerHelper.newDefaultHelper();
 
+    /**
+     * Outcome of the header checks of the previous build, {@code null} if not used.
+     */
+    private HeaderCheckCache checkCache;
+
     // ----------------------------------------------------------------------
     // Abstract Methods
     // ----------------------------------------------------------------------
@@ -530,7 +594,13 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         }
 
         // get all files to treat indexed by their comment style
-        filesToTreatByCommentStyle = obtainFilesToProcessByCommentStyle( extraFiles, roots, includes, excludes, extensionToCommentStyle, transformers );
+        Set<File> changedFiles = null;
+        if ( StringUtils.isNotBlank( changedSince ) )
+        {
+            changedFiles = GitChangedFiles.changedSince( getProject().getBasedir(), changedSince, getLog() );
+            getLog().info( "Will process only the " + changedFiles.size() + " file(s) changed since " + changedSince );
+        }
+        filesToTreatByCommentStyle = obtainFilesToProcessByCommentStyle( extraFiles, roots, includes, excludes, extensionToCommentStyle, transformers, changedFiles );
 
         // build the description template
         if ( isVerbose() )
@@ -538,6 +608,7 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             getLog().info( "Use description template : " + descriptionTemplate );
         }
         descriptionTemplate0 = freeMarkerHelper.getTemplate( descriptionTemplate );
+        descriptionRenderer = new CachingTemplateRenderer( freeMarkerHelper, descriptionTemplate0 );
     }
 
     @Override
@@ -546,24 +617,37 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
 
         long t0 = System.nanoTime();
 
-        processedFiles = new HashSet<File>();
+        processedFiles = ConcurrentHashMap.newKeySet();
         result = new EnumMap<FileState, Set<File>>( FileState.class );
+        fileStates = new ConcurrentHashMap<FileState, Set<File>>();
 
         try
         {
 
-            for ( Map.Entry<String, List<File>> commentStyleFiles : filesToTreatByCommentStyle.entrySet() )
+            if ( !filesToTreatByCommentStyle.isEmpty() )
             {
+                // obtain license from definition
+                License license = getLicense( getLicenseName(), true );
+                FileHeader header = getFileHeader( license );
 
-                String commentStyle = commentStyleFiles.getKey();
-                List<File> files = commentStyleFiles.getValue();
+                if ( headerCheckCache && isDryRun() )
+                {
+                    checkCache =
+                        HeaderCheckCache.load( headerCheckCacheFile, getHeaderConfiguration( header ), getLog() );
+                }
 
-                processCommentStyle( commentStyle, files );
+                processCommentStyles( license, header );
             }
 
         }
         finally
         {
+            if ( checkCache != null )
+            {
+                checkCache.save();
+                checkCache = null;
+            }
+            result.putAll( fileStates );
             checkResults( result );
 
             int nbFiles = processedFiles.size();
@@ -645,19 +729,38 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         }
     }
 
+    /**
+     * Process all the comment styles to their detected files.
+     *
+     * @param license license to use
+     * @param header  file header to use if no header is found on a file
+     * @throws IOException if any IO error while processing files
+     */
+    private void processCommentStyles( License license, FileHeader header ) throws IOException
+    {
+        for ( Map.Entry<String, List<File>> commentStyleFiles : filesToTreatByCommentStyle.entrySet() )
+        {
+
+            String commentStyle = commentStyleFiles.getKey();
+            List<File> files = commentStyleFiles.getValue();
+
+            processCommentStyle( commentStyle, files, license, header );
+        }
+    }
+
     /**
      * Process a given comment style to all his detected files.
      *
      * @param commentStyle comment style to treat
      * @param filesToTreat files using this comment style to treat
+     * @param license      license to use
+     * @param header       file header to use if no header is found on a file
      * @throws IOException if any IO error while processing files
      */
-    private void processCommentStyle( String commentStyle, List<File> filesToTreat ) throws IOException
+    private void processCommentStyle( String commentStyle, List<File> filesToTreat, License license,
+                                      final FileHeader header ) throws IOException
     {
 
-        // obtain license from definition
-        License license = getLicense( getLicenseName(), true );
-
         if ( isVerbose() )
         {
             getLog().info( "Process header '" + commentStyle + "'" );
@@ -665,18 +768,17 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         }
 
         // use header transformer according to comment style given in header
-        FileHeaderTransformer transformer = getTransformer( transformers, commentStyle );
-        FileHeaderProcessor processor = getFileHeaderProcessor( license, transformer );
+        final FileHeaderTransformer transformer = getTransformer( transformers, commentStyle );
 
-
-        for ( File file : filesToTreat )
-        {
-            processFile( processor, file );
-        }
+        // each worker has its own processor (and filter)
+        processFiles( filesToTreat, () -> {
+            FileHeaderProcessor processor = getFileHeaderProcessor( header, transformer );
+            return file -> processFile( processor, file );
+        } );
         filesToTreat.clear();
     }
 
-    private FileHeaderProcessor getFileHeaderProcessor( License license, FileHeaderTransformer transformer ) throws IOException
+    private FileHeader getFileHeader( License license ) throws IOException
     {
         // file header to use if no header is found on a file
         FileHeader header = new FileHeader();
@@ -695,6 +797,28 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             licenseContent = processLicenseContext( licenseContent );
         }
         header.setLicense( licenseContent );
+        return header;
+    }
+
+    /**
+     * @param header file header to use if no header is found on a file
+     * @return description of the configuration the outcome of a header check depends on, besides the comment
+     * style and description of each file
+     */
+    private String getHeaderConfiguration( FileHeader header )
+    {
+        return Arrays.asList( pluginVersion, getEncoding(), ignoreTag, processStartTag, processEndTag,
+                              sectionDelimiter, canUpdateCopyright, canUpdateDescription, canUpdateLicense,
+                              addJavaLicenseAfterPackage, useJavaNoReformatCommentStartTag, emptyLineAfterHeader,
+                              header.getCopyright(), header.getLicense() ).toString();
+    }
+
+    private FileHeaderProcessor getFileHeaderProcessor( FileHeader template, FileHeaderTransformer transformer )
+    {
+        // the description of the header is set for each file
+        FileHeader header = new FileHeader();
+        header.setCopyright( template.getCopyright() );
+        header.setLicense( template.getLicense() );
 
         UpdateFileHeaderFilter filter = new UpdateFileHeaderFilter();
         filter.setUpdateCopyright( canUpdateCopyright );
@@ -703,7 +827,9 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
 
         filter.setLog( getLog() );
         // update processor filter
-        return new FileHeaderProcessor( filter, header, transformer );
+        FileHeaderProcessor processor = new FileHeaderProcessor( filter, header, transformer );
+        processor.setLegacyProcessor( legacyHeaderProcessor );
+        return processor;
     }
 
     /**
@@ -716,7 +842,8 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
     private void processFile( FileHeaderProcessor processor, File file ) throws IOException
     {
 
-        if ( processedFiles.contains( file ) )
+        // whatever will be the result, this file is treated.
+        if ( !processedFiles.add( file ) )
         {
             getLog().info( " - skip already processed file " + file );
             return;
@@ -733,15 +860,11 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         {
             getLog().warn( "skip failed file : " + e.getMessage() +
                                    ( e.getCause() == null ? "" : " Cause : " + e.getCause().getMessage() ), e );
-            FileState.fail.addFile( file, result );
+            FileState.fail.addFile( file, fileStates );
             doFinalize = false;
         }
         finally
         {
-
-            // whatever was the result, this file is treated.
-            processedFiles.add( file );
-
             if ( doFinalize )
             {
                 finalizeFile( file, processFile );
@@ -782,7 +905,7 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
 
         getLog().debug( "Description parameters:" + descriptionParameters );
 
-        String description = freeMarkerHelper.renderTemplate( descriptionTemplate0, descriptionParameters );
+        String description = descriptionRenderer.render( descriptionParameters );
         processor.updateDescription( description );
 
         if ( getLog().isDebugEnabled() )
@@ -790,6 +913,25 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             getLog().debug( "header description : " + processor.getFileHeaderDescription() );
         }
 
+        String fingerprint = null;
+        if ( checkCache != null )
+        {
+            fingerprint = processor.getTransformer().getName() + "\n" + description;
+            String outcome = checkCache.get( file, fingerprint );
+            if ( outcome != null )
+            {
+                getLog().debug( " - unchanged file " + file );
+                FileState.valueOf( outcome ).addFile( file, fileStates );
+                return false;
+            }
+        }
+
+        if ( isDryRun() && checkFile( processor, file, fingerprint ) )
+        {
+            // nothing to write back
+            return false;
+        }
+
         String content;
 
         try
@@ -812,7 +954,7 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         {
             getLog().info( " - ignore file (detected " + ignoreTag + ") " + file );
 
-            FileState.ignore.addFile( file, result );
+            addFile( FileState.ignore, file, fingerprint );
 
             return false;
         }
@@ -851,12 +993,12 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
                 // header content has changed
                 // must copy back process file to file (if not dry run)
 
-                FileState.update.addFile( file, result );
+                addFile( FileState.update, file, fingerprint );
                 return true;
 
             }
 
-            FileState.uptodate.addFile( file, result );
+            addFile( FileState.uptodate, file, fingerprint );
             return false;
         }
 
@@ -876,18 +1018,101 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             getLog().info( " - adding license header on file " + file );
         }
 
-        //FIXME tchemit 20100409 xml files must add header after a xml prolog line
-        content = processor.addHeader( content );
-
         if ( !isDryRun() )
         {
-            FileUtil.printString( processFile, content, getEncoding() );
+
+            // only the header is written, the rest of the original file is copied as it is
+            HeaderInsertion insertion = processor.getHeaderInsertion( content );
+            String head = content.substring( 0, insertion.getStart() ) + insertion.getText();
+            if ( !FileUtil.spliceFile( file, content, insertion.getEnd(), head, processFile, getEncoding() ) )
+            {
+                FileUtil.printString( processFile, insertion.apply( content ), getEncoding() );
+            }
         }
 
-        FileState.add.addFile( file, result );
+        addFile( FileState.add, file, fingerprint );
         return true;
     }
 
+    /**
+     * Finds the state of the header of the given {@code file} from its first bytes only, without producing any
+     * output file (for dry runs).
+     *
+     * @param processor   current file processor
+     * @param file        the file to check
+     * @param fingerprint fingerprint of the expected header, {@code null} if the header check cache is not used
+     * @return {@code true} if the file was checked, {@code false} if its header is not fully contained in the
+     * prefix of the file, the file must then be processed
+     * @throws IOException if any pb while reading the file
+     */
+    private boolean checkFile( FileHeaderProcessor processor, File file, String fingerprint ) throws IOException
+    {
+        FileHeaderTransformer transformer = processor.getTransformer();
+        FileHeaderPrefix prefix;
+        try
+        {
+            prefix = FileHeaderPrefix.read( file, getEncoding(), HEADER_PREFIX_SIZE, transformer.getProcessStartTag(),
+                                            transformer.getProcessEndTag(), ignoreTag );
+        }
+        catch ( IOException e )
+        {
+            throw new IOException( "Could not obtain content of file " + file );
+        }
+
+        switch ( prefix.getState() )
+        {
+            case IGNORED:
+                getLog().info( " - ignore file (detected " + ignoreTag + ") " + file );
+                addFile( FileState.ignore, file, fingerprint );
+                return true;
+
+            case NO_HEADER:
+                if ( isVerbose() )
+                {
+                    getLog().info( " - adding license header on file " + file );
+                }
+                addFile( FileState.add, file, fingerprint );
+                return true;
+
+            case HEADER:
+                try
+                {
+                    processor.check( prefix.getHeaderContent() );
+                }
+                catch ( IllegalStateException e )
+                {
+                    throw new InvalideFileHeaderException(
+                            "Could not extract header on file " + file + " for reason " + e.getMessage() );
+                }
+                if ( isVerbose() )
+                {
+                    getLog().info( " - header was updated for " + file );
+                }
+                addFile( processor.isModified() ? FileState.update : FileState.uptodate, file, fingerprint );
+                return true;
+
+            default:
+                getLog().debug( " - header of " + file + " not found in its first " + HEADER_PREFIX_SIZE + " bytes" );
+                return false;
+        }
+    }
+
+    /**
+     * Registers the state of a file, and records it in the header check cache if used.
+     *
+     * @param state       state of the file
+     * @param file        processed file
+     * @param fingerprint fingerprint of the expected header, {@code null} if the header check cache is not used
+     */
+    private void addFile( FileState state, File file, String fingerprint )
+    {
+        state.addFile( file, fileStates );
+        if ( fingerprint != null )
+        {
+            checkCache.put( file, fingerprint, state.name() );
+        }
+    }
+
     /**
      * Finalize the process of a file.
      * <p>
@@ -931,7 +1156,7 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             {
 
                 // replace file with the updated one
-                FileUtil.renameFile( processFile, file );
+                FileUtil.replaceFile( processFile, file );
             }
             catch ( IOException e )
             {
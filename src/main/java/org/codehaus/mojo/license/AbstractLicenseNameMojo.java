@@ -29,19 +29,23 @@ import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.codehaus.mojo.license.model.Copyright;
 import org.codehaus.mojo.license.model.License;
 import org.codehaus.mojo.license.model.LicenseStore;
-import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.mojo.license.utils.ParallelLookup;
+import org.codehaus.mojo.license.utils.SourceFileScanner;
 import org.codehaus.plexus.util.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Abstract mojo which using a {@link #licenseName} and owns a
@@ -154,6 +158,14 @@ public abstract class AbstractLicenseNameMojo
     @Parameter
     protected Map<String, String> extraTemplateParameters;
 
+    /**
+     * Maximum number of files processed concurrently by the file header goals.
+     * <p>
+     * Each worker uses its own header processor. A value of {@code 1} processes files one after another.
+     */
+    @Parameter( property = "license.headerThreads", defaultValue = "1" )
+    int headerThreads;
+
     // ----------------------------------------------------------------------
     // Private Fields
     // ----------------------------------------------------------------------
@@ -269,62 +281,53 @@ public abstract class AbstractLicenseNameMojo
     }
 
     /**
-     * Collects some files.
+     * Processes files by up to {@link #headerThreads} workers, each of them treating an interleaved share of the
+     * files one after another.
      *
-     * @param includes includes
-     * @param excludes excludes
-     * @param roots    root directories to treat
-     * @param files    cache of file detected indexed by their root directory
+     * @param files         files to process
+     * @param workerFactory creates the worker of each share (called by the thread of the worker)
+     * @throws IOException if a worker failed
      */
-    void getFilesToTreatForRoots( String[] includes, String[] excludes, List<String> roots, Map<File, String[]> files )
+    void processFiles( final List<File> files, final FileWorkerFactory workerFactory )
+            throws IOException
     {
-
-        DirectoryScanner ds = new DirectoryScanner();
-        ds.setIncludes( includes );
-        if ( excludes != null )
-        {
-            ds.setExcludes( excludes );
-        }
-        for ( String src : roots )
+        final int workers = Math.min( headerThreads, files.size() );
+        if ( workers < 2 )
         {
-
-            File f = new File( src );
-            if ( !f.exists() )
-            {
-                // do nothing on a non-existent
-                continue;
-            }
-
-            if ( getLog().isDebugEnabled() )
-            {
-                getLog().debug( "discovering source files in " + src );
-            }
-
-            ds.setBasedir( f );
-            // scan
-            ds.scan();
-
-            // get files
-            String[] tmp = ds.getIncludedFiles();
-
-            if ( tmp.length < 1 )
+            FileWorker worker = workerFactory.newWorker();
+            for ( File file : files )
             {
-                // no files found
-                continue;
-            }
-
-            List<String> toTreate = new ArrayList<String>();
-
-            Collections.addAll( toTreate, tmp );
-
-            if ( toTreate.isEmpty() )
-            {
-                // no file or all are up-to-date
-                continue;
+                worker.process( file );
             }
+            return;
+        }
 
-            // register files
-            files.put( f, toTreate.toArray( new String[toTreate.size()] ) );
+        List<Integer> shares = new ArrayList<Integer>( workers );
+        for ( int i = 0; i < workers; i++ )
+        {
+            shares.add( i );
+        }
+        try
+        {
+            ParallelLookup.lookup( shares, workers, "license-header", share -> {
+                try
+                {
+                    FileWorker worker = workerFactory.newWorker();
+                    for ( int i = share; i < files.size(); i += workers )
+                    {
+                        worker.process( files.get( i ) );
+                    }
+                    return null;
+                }
+                catch ( IOException e )
+                {
+                    throw new UncheckedIOException( e );
+                }
+            } );
+        }
+        catch ( UncheckedIOException e )
+        {
+            throw e.getCause();
         }
     }
 
@@ -431,6 +434,24 @@ public abstract class AbstractLicenseNameMojo
      * @param transformers
      */
     Map<String, List<File>> obtainFilesToProcessByCommentStyle( Map<String, String> extraFiles, String[] roots, String[] includes, String[] excludes, Map<String, String> extensionToCommentStyle, Map<String, FileHeaderTransformer> transformers )
+    {
+        return obtainFilesToProcessByCommentStyle( extraFiles, roots, includes, excludes, extensionToCommentStyle,
+                                                   transformers, null );
+    }
+
+    /**
+     * Gets the files to process indexed by their comment style, among the given candidates only.
+     *
+     * @return for each comment style, list of files to process
+     * @param extraFiles
+     * @param roots
+     * @param includes
+     * @param excludes
+     * @param extensionToCommentStyle
+     * @param transformers
+     * @param candidates files to select from, or {@code null} to scan the roots
+     */
+    Map<String, List<File>> obtainFilesToProcessByCommentStyle( Map<String, String> extraFiles, String[] roots, String[] includes, String[] excludes, Map<String, String> extensionToCommentStyle, Map<String, FileHeaderTransformer> transformers, Collection<File> candidates )
     {
 
         Map<String, List<File>> results = new HashMap<String, List<File>>();
@@ -443,13 +464,13 @@ public abstract class AbstractLicenseNameMojo
             results.put( commentStyle, new ArrayList<File>() );
         }
 
-        List<String> rootsList = new ArrayList<String>( roots.length );
+        Set<File> rootsList = new LinkedHashSet<File>( roots.length );
         for ( String root : roots )
         {
             File f = new File( root );
             if ( f.isAbsolute() )
             {
-                rootsList.add( f.getAbsolutePath() );
+                rootsList.add( f.getAbsoluteFile() );
             }
             else
             {
@@ -458,7 +479,7 @@ public abstract class AbstractLicenseNameMojo
             if ( f.exists() )
             {
                 getLog().info( "Will search files to update from root " + f );
-                rootsList.add( f.getAbsolutePath() );
+                rootsList.add( f.getAbsoluteFile() );
             }
             else
             {
@@ -469,39 +490,29 @@ public abstract class AbstractLicenseNameMojo
             }
         }
 
-        // Obtain all files to treat
-        Map<File, String[]> allFiles = new HashMap<File, String[]>();
-        getFilesToTreatForRoots( includes, excludes, rootsList, allFiles );
-
-        // filter all these files according to their extension
-
-        for ( Map.Entry<File, String[]> entry : allFiles.entrySet() )
-        {
-            File root = entry.getKey();
-            String[] filesPath = entry.getValue();
-
-            // sort them by the associated comment style to their extension
-            for ( String path : filesPath )
+        // obtain all files to treat, sorted by the associated comment style to their extension
+        SourceFileScanner scanner = new SourceFileScanner( includes, excludes, getLog() );
+        Function<File, String> classifier = file -> {
+            String commentStyle = extensionToCommentStyle.get( FileUtils.extension( file.getName() ) );
+            if ( StringUtils.isEmpty( commentStyle ) )
             {
-                String extension = FileUtils.extension( path );
-                String commentStyle = extensionToCommentStyle.get( extension );
+
+                // unknown extension, try with extra files
+                commentStyle = extraFiles.get( file.getName() );
                 if ( StringUtils.isEmpty( commentStyle ) )
                 {
-
-                    // unknown extension, try with extra files
-                    File file = new File( root, path );
-                    commentStyle = extraFiles.get( file.getName() );
-                    if ( StringUtils.isEmpty( commentStyle ) )
-                    {
-                        // do not treat this file
-                        continue;
-                    }
+                    // do not treat this file
+                    return null;
                 }
-                //
-                File file = new File( root, path );
-                List<File> files = results.get( commentStyle );
-                files.add( file );
             }
+            return commentStyle;
+        };
+        Map<String, List<File>> filesByCommentStyle = candidates == null
+            ? scanner.scan( rootsList, headerThreads, classifier )
+            : scanner.select( rootsList, candidates, classifier );
+        for ( Map.Entry<String, List<File>> entry : filesByCommentStyle.entrySet() )
+        {
+            results.get( entry.getKey() ).addAll( entry.getValue() );
         }
         return results;
     }
@@ -534,4 +545,22 @@ public abstract class AbstractLicenseNameMojo
             }
         }
     }
+
+    /**
+     * Processes the files of a share, one after another.
+     */
+    interface FileWorker
+    {
+        void process( File file )
+                throws IOException;
+    }
+
+    /**
+     * Creates the worker of a share of files.
+     */
+    interface FileWorkerFactory
+    {
+        FileWorker newWorker()
+                throws IOException;
+    }
 }
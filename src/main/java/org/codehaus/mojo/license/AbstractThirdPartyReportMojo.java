@@ -27,6 +27,7 @@ import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
 import org.apache.maven.artifact.resolver.ArtifactResolutionException;
 import org.apache.maven.doxia.siterenderer.Renderer;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -35,6 +36,7 @@ import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.artifact.InvalidDependencyVersionException;
 import org.apache.maven.reporting.AbstractMavenReport;
 import org.apache.maven.reporting.MavenReportException;
+import org.codehaus.mojo.license.api.ArtifactCache;
 import org.codehaus.mojo.license.api.DefaultThirdPartyDetails;
 import org.codehaus.mojo.license.api.DefaultThirdPartyHelper;
 import org.codehaus.mojo.license.api.DependenciesTool;
@@ -45,6 +47,7 @@ import org.codehaus.mojo.license.api.ThirdPartyHelper;
 import org.codehaus.mojo.license.api.ThirdPartyTool;
 import org.codehaus.mojo.license.api.ThirdPartyToolException;
 import org.codehaus.mojo.license.model.LicenseMap;
+import org.codehaus.mojo.license.utils.LicenseResolutionCache;
 import org.codehaus.mojo.license.utils.MojoHelper;
 import org.codehaus.plexus.i18n.I18N;
 
@@ -235,6 +238,12 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport i
     @Parameter( defaultValue = "${project}", readonly = true )
     private MavenProject project;
 
+    /**
+     * Current maven session, scope of the dependencies cache.
+     */
+    @Parameter( defaultValue = "${session}", readonly = true )
+    private MavenSession session;
+
     /**
      * Artifactory URL for retrieving license information with Xray.
      */
@@ -259,6 +268,71 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport i
     @Parameter( property = "license.useXrayProcessor", defaultValue = "false" )
     private Boolean isUseXrayProcessor;
 
+    /**
+     * Maximum number of concurrent remote license lookups (Sonatype, Xray).
+     * <p>
+     * A value of {@code 1} performs lookups one after another.
+     */
+    @Parameter( property = "license.remoteLookupThreads", defaultValue = "1" )
+    private int remoteLookupThreads;
+
+    /**
+     * Maximum number of dependency POMs built concurrently.
+     * <p>
+     * A value of {@code 1} builds them one after another.
+     */
+    @Parameter( property = "license.pomBuildThreads", defaultValue = "1" )
+    private int pomBuildThreads;
+
+    /**
+     * A flag to read the licenses of dependencies straight from their pom in the local repository, following parent
+     * poms only when licenses are not declared. Dependencies whose pom can not be read this way are built as usual.
+     */
+    @Parameter( property = "license.lightPomReader", defaultValue = "false" )
+    private boolean lightPomReader;
+
+    /**
+     * A flag to keep the licenses found by remote lookups (Sonatype, Xray) in a persistent cache shared by builds.
+     */
+    @Parameter( property = "license.remoteCache", defaultValue = "false" )
+    private boolean remoteCache;
+
+    /**
+     * Directory of the persistent cache of remote license lookups.
+     */
+    @Parameter( property = "license.remoteCacheDirectory", defaultValue = "${user.home}/.m2/license-cache" )
+    private File remoteCacheDirectory;
+
+    /**
+     * How long, in hours, a license found by a remote lookup is kept in the cache.
+     */
+    @Parameter( property = "license.remoteCacheTtl", defaultValue = "168" )
+    private int remoteCacheTtl;
+
+    /**
+     * How long, in hours, a remote lookup that found no license is kept in the cache.
+     */
+    @Parameter( property = "license.remoteCacheNegativeTtl", defaultValue = "12" )
+    private int remoteCacheNegativeTtl;
+
+    /**
+     * A flag to never expire licenses found for release versions. SNAPSHOT versions are always looked up again.
+     */
+    @Parameter( property = "license.remoteCacheKeepReleases", defaultValue = "false" )
+    private boolean remoteCacheKeepReleases;
+
+    /**
+     * Maximum number of dependencies (as maven project) kept in the cache shared by the mojos of the session.
+     */
+    @Parameter( property = "license.artifactCacheSize", defaultValue = "10000" )
+    private int artifactCacheSize;
+
+    /**
+     * A flag to let the garbage collector reclaim dependencies kept in the cache when memory is short.
+     */
+    @Parameter( property = "license.artifactCacheSoftValues", defaultValue = "false" )
+    private boolean artifactCacheSoftValues;
+
     // ----------------------------------------------------------------------
     // Plexus Components
     // ----------------------------------------------------------------------
@@ -481,10 +555,36 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport i
         return verbose;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getPomBuildThreads()
+    {
+        return pomBuildThreads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isLightPomReader()
+    {
+        return lightPomReader;
+    }
+
     // ----------------------------------------------------------------------
     // Protected Methods
     // ----------------------------------------------------------------------
 
+    private LicenseResolutionCache createLicenseResolutionCache()
+    {
+        if ( !remoteCache )
+        {
+            return null;
+        }
+        return new LicenseResolutionCache( remoteCacheDirectory, remoteCacheTtl, remoteCacheNegativeTtl,
+                                           remoteCacheKeepReleases, getLog() );
+    }
+
     Collection<ThirdPartyDetails> createThirdPartyDetails( MavenProject project, boolean loadArtifacts )
             throws IOException, ThirdPartyToolException, ProjectBuildingException, MojoFailureException,
                    DependenciesToolException
@@ -498,7 +598,10 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport i
         ThirdPartyHelper thirdPartyHelper =
                 new DefaultThirdPartyHelper( project, encoding, verbose, dependenciesTool, thirdPartyTool, localRepository,
                                              project.getRemoteArtifactRepositories(), getLog(), artifactoryUrl,
-                                             artifactoryAccessToken, isUseSonatypeProcessor, isUseXrayProcessor );
+                                             artifactoryAccessToken, isUseSonatypeProcessor, isUseXrayProcessor,
+                                             remoteLookupThreads, createLicenseResolutionCache(),
+                                             ArtifactCache.forSession( session, artifactCacheSize,
+                                                                       artifactCacheSoftValues ) );
         // load dependencies of the project
         SortedMap<String, MavenProject> projectDependencies = thirdPartyHelper.loadDependencies( this );
 
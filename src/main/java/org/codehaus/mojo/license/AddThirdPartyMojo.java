@@ -434,7 +434,8 @@ public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements Mave
         localRepository = mojo.localRepository;
         remoteRepositories = mojo.remoteRepositories;
         dependencies = new HashSet<Artifact>(mavenProject.getDependencies());
-        licenseMerges = mojo.licenseMerges;
+        // merges of the registry are appended to the list, modules must not share it
+        licenseMerges = mojo.licenseMerges == null ? null : new ArrayList<String>( mojo.licenseMerges );
         includedLicenses = mojo.includedLicenses;
         excludedLicenses = mojo.excludedLicenses;
         bundleThirdPartyPath = mojo.bundleThirdPartyPath;
@@ -447,6 +448,12 @@ public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements Mave
         fileTemplate = mojo.fileTemplate;
         session = mojo.session;
         verbose = mojo.verbose;
+        remoteLookupThreads = mojo.remoteLookupThreads;
+        pomBuildThreads = mojo.pomBuildThreads;
+        lightPomReader = mojo.lightPomReader;
+        copyRemoteCacheParameters( mojo );
+        artifactCacheSize = mojo.artifactCacheSize;
+        artifactCacheSoftValues = mojo.artifactCacheSoftValues;
         encoding = mojo.encoding;
 
         setLog(mojo.getLog());
@@ -2,6 +2,7 @@ package org.codehaus.mojo.license;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
@@ -20,6 +21,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
 import org.codehaus.mojo.license.model.LicenseMap;
+import org.codehaus.mojo.license.utils.ParallelLookup;
 import org.codehaus.mojo.license.utils.SortedProperties;
 
 /*
@@ -80,6 +82,15 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
     @Parameter( property = "license.skipAggregateAddThirdParty", defaultValue = "false" )
     private boolean skipAggregateAddThirdParty;
 
+    /**
+     * Maximum number of modules evaluated concurrently.
+     * <p>
+     * A value of {@code 1} evaluates modules one after another. Licenses of the modules are always merged in
+     * reactor order, so the result does not depend on this value.
+     */
+    @Parameter( property = "license.aggregateThreads", defaultValue = "1" )
+    int aggregateThreads;
+
     /**
      * To resolve third party licenses from an artifact.
      *
@@ -200,25 +211,18 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
             reactorProjectDependencies.put(String.format("%s:%s", reactorProject.getGroupId(), reactorProject.getArtifactId()), reactorProject.getDependencies());
         }
 
-        for (Object reactorProject : reactorProjects) {
+        // mojos are looked up here, only their evaluation runs on the worker threads
+        Map<MavenProject, AddThirdPartyMojo> mojos = new LinkedHashMap<MavenProject, AddThirdPartyMojo>();
+        for (MavenProject reactorProject : reactorProjects) {
             if (getProject().equals(reactorProject)) {
                 // do not process pom
                 continue;
             }
-
-
-            AddThirdPartyMojo mojo = (AddThirdPartyMojo) getSession().lookup(AddThirdPartyMojo.ROLE, addThirdPartyRoleHint);
-
-            mojo.initFromMojo(this, (MavenProject) reactorProject, reactorProjectDependencies);
-
-            LicenseMap childLicenseMap = mojo.getLicenseMap();
-            if (isVerbose()) {
-                getLog().info(String.format("Found %d license(s) in module %s:%s", childLicenseMap.size(), mojo.project.getGroupId(), mojo.project.getArtifactId()));
-            }
-            licenseMap.putAll(childLicenseMap);
-
+            mojos.put(reactorProject, (AddThirdPartyMojo) getSession().lookup(AddThirdPartyMojo.ROLE, addThirdPartyRoleHint));
         }
 
+        aggregate(mojos, reactorProjectDependencies, licenseMap, getProjectDependencies());
+
         getLog().info( licenseMap.size() + " detected license(s)." );
         if ( isVerbose() )
         {
@@ -241,6 +245,44 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
         checkMissing(unsafe);
     }
 
+    /**
+     * Evaluates the modules on at most {@link #aggregateThreads} threads, then merges their licenses and dependencies
+     * in reactor order.
+     *
+     * @param mojos                      add-third-party mojo of each module, in reactor order
+     * @param reactorProjectDependencies dependencies of the reactor projects, by {@code groupId:artifactId}
+     * @param licenseMap                 license map to merge the licenses of the modules into
+     * @param projectDependencies        map to merge the dependencies of the modules into
+     * @throws Exception the failure of the first failing module in reactor order, as thrown by its evaluation
+     */
+    void aggregate(Map<MavenProject, AddThirdPartyMojo> mojos, Map<String, List<Dependency>> reactorProjectDependencies,
+                   LicenseMap licenseMap, SortedMap<String, MavenProject> projectDependencies) throws Exception {
+        Map<MavenProject, AddThirdPartyMojo> evaluated;
+        try {
+            evaluated = ParallelLookup.lookup(mojos.keySet(), aggregateThreads, "license-module", reactorProject -> {
+                AddThirdPartyMojo mojo = mojos.get(reactorProject);
+                try {
+                    mojo.initFromMojo(this, reactorProject, reactorProjectDependencies);
+                } catch (Exception e) {
+                    throw new ModuleEvaluationException(e);
+                }
+                return mojo;
+            });
+        } catch (ModuleEvaluationException e) {
+            throw (Exception) e.getCause();
+        }
+
+        // merge in reactor order, whatever the order the modules were evaluated in
+        for (AddThirdPartyMojo mojo : evaluated.values()) {
+            LicenseMap childLicenseMap = mojo.getLicenseMap();
+            if (isVerbose()) {
+                getLog().info(String.format("Found %d license(s) in module %s:%s", childLicenseMap.size(), mojo.project.getGroupId(), mojo.project.getArtifactId()));
+            }
+            licenseMap.putAll(childLicenseMap);
+            projectDependencies.putAll(mojo.getProjectDependencies());
+        }
+    }
+
     // ----------------------------------------------------------------------
     // AbstractAddThirdPartyMojo Implementaton
     // ----------------------------------------------------------------------
@@ -251,8 +293,8 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
     @Override
     protected SortedMap<String, MavenProject> loadDependencies()
     {
-        // use the cache filled by modules in reactor
-        return getHelper().getArtifactCache();
+        // filled with the dependencies of the modules in reactor (see doAction)
+        return new TreeMap<String, MavenProject>();
     }
 
     /**
@@ -298,4 +340,16 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
         return unsafeMappings;
     }
 
+    /**
+     * Carries the failure of a module evaluation out of {@link ParallelLookup}.
+     */
+    private static class ModuleEvaluationException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        ModuleEvaluationException( Exception cause )
+        {
+            super( cause );
+        }
+    }
 }
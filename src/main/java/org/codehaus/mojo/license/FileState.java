@@ -4,6 +4,8 @@ import java.io.File;
 import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Defines state of a file after process.
@@ -59,4 +61,21 @@ public enum FileState
         }
         fileSet.add( file );
     }
+
+    /**
+     * Register a file for this state on a result dictionary shared by concurrent workers.
+     *
+     * @param file    file to add
+     * @param results dictionary to update
+     */
+    public void addFile( File file, ConcurrentMap<FileState, Set<File>> results )
+    {
+        Set<File> fileSet = results.get( this );
+        if ( fileSet == null )
+        {
+            results.putIfAbsent( this, ConcurrentHashMap.<File>newKeySet() );
+            fileSet = results.get( this );
+        }
+        fileSet.add( file );
+    }
 }
@@ -3,8 +3,47 @@ package org.codehaus.mojo.license;
 import org.apache.maven.model.License;
 import org.apache.maven.project.MavenProject;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface LicenseProcessor {
+
+    /**
+     * @param project project to resolve
+     * @return licenses found, an empty list when none was found or when the lookup failed
+     */
     List<License> getLicensesByProject(MavenProject project);
+
+    /**
+     * Resolves licenses of a project, telling a failed lookup apart from a lookup which found nothing.
+     *
+     * @param project project to resolve
+     * @return licenses found, an empty list when the remote source knows no license for the project
+     * @throws IOException if the lookup failed (network error, timeout, unexpected status, ...)
+     */
+    List<License> resolveLicenses(MavenProject project) throws IOException;
+
+    /**
+     * Resolves licenses of several projects at once.
+     * <p>
+     * Implementations may resolve projects concurrently, but the returned map must iterate in the order of
+     * {@code projects}. Projects whose lookup failed are left out of the map.
+     *
+     * @param projects projects to resolve
+     * @return licenses found for each project (an empty list when none was found)
+     */
+    default Map<MavenProject, List<License>> getLicensesByProjects(Collection<MavenProject> projects) {
+        Map<MavenProject, List<License>> result = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            try {
+                result.put(project, resolveLicenses(project));
+            } catch (IOException e) {
+                // nothing is known about this project
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,94 @@
+package org.codehaus.mojo.license;
+
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.model.LicenseMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+/**
+ * Finds the url of a license from the licenses declared by the dependencies using it (or one of its synonyms).
+ * <p>
+ * Dependencies and license synonyms are indexed once, so resolving the url of every license of a build does not scan
+ * all the dependencies and split all the license merges for each license.
+ */
+class LicenseUrlResolver {
+
+    private final Map<List<Object>, MavenProject> dependenciesByKey = new HashMap<>();
+    private final Map<String, List<String>> synonymsByLicense = new HashMap<>();
+    private final Log log;
+
+    /**
+     * @param dependencies  dependencies of the project, with their full model
+     * @param licenseMerges license merges, each one a {@code |}-separated list of license names
+     * @param log           logger
+     */
+    LicenseUrlResolver(Collection<MavenProject> dependencies, List<String> licenseMerges, Log log) {
+        this.log = log;
+        for (MavenProject dependency : dependencies) {
+            dependenciesByKey.putIfAbsent(keyOf(dependency), dependency);
+        }
+        for (String licenseMerge : licenseMerges) {
+            List<String> items = Arrays.asList(licenseMerge.split("\\s*\\|\\s*"));
+            for (String item : items) {
+                // the first merge declaring a license wins
+                synonymsByLicense.putIfAbsent(item, items);
+            }
+        }
+    }
+
+    /**
+     * @param licenseMap  license map of the project
+     * @param licenseName name of the license
+     * @return the first url declared for the license or one of its synonyms by a dependency using it, or
+     * {@code null} if there is none
+     */
+    String getLicenseUrl(LicenseMap licenseMap, String licenseName) {
+        List<String> licenseSynonims = getSynonyms(licenseName);
+        log.debug("synonyms for " + licenseName + " are " + licenseSynonims);
+        SortedSet<MavenProject> mavenProjects = licenseMap.get(licenseName);
+        for (MavenProject mavenProject : mavenProjects) {
+            MavenProject fullMavenProject = findMavenProject(mavenProject);
+            List<License> licenses = fullMavenProject.getModel().getLicenses();
+            for (License licenseFromDep : licenses) {
+                if (licenseSynonims.contains(licenseFromDep.getName()) && licenseFromDep.getUrl() != null) {
+                    return licenseFromDep.getUrl();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param licenseName name of a license
+     * @return the license and its synonyms
+     */
+    List<String> getSynonyms(String licenseName) {
+        List<String> synonyms = synonymsByLicense.get(licenseName);
+        return synonyms == null ? Collections.singletonList(licenseName) : synonyms;
+    }
+
+    private MavenProject findMavenProject(MavenProject mavenProject) {
+        MavenProject p = dependenciesByKey.get(keyOf(mavenProject));
+        if (p == null) {
+            log.error("maven project not found for " + mavenProject);
+            return mavenProject;
+        }
+        return p;
+    }
+
+    /**
+     * Dependencies are matched by groupId, artifact, version and packaging.
+     */
+    private static List<Object> keyOf(MavenProject project) {
+        return Arrays.<Object>asList(project.getGroupId(), project.getArtifact(), project.getVersion(),
+                project.getPackaging());
+    }
+}
@@ -38,11 +38,12 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The goal to remove the header on project source files.
@@ -212,6 +213,11 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
      */
     private EnumMap<FileState, Set<File>> result;
 
+    /**
+     * Dictionary of treated files indexed by their state, filled by the workers.
+     */
+    private ConcurrentMap<FileState, Set<File>> fileStates;
+
     /**
      * Dictionary of files to treat indexed by their CommentStyle.
      */
@@ -350,8 +356,9 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
 
         long t0 = System.nanoTime();
 
-        processedFiles = new HashSet<File>();
+        processedFiles = ConcurrentHashMap.newKeySet();
         result = new EnumMap<FileState, Set<File>>( FileState.class );
+        fileStates = new ConcurrentHashMap<FileState, Set<File>>();
 
         try
         {
@@ -368,6 +375,8 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         }
         finally
         {
+            result.putAll( fileStates );
+
             int nbFiles = processedFiles.size();
             if ( nbFiles == 0 && !ignoreNoFileToScan )
             {
@@ -427,13 +436,9 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         }
 
         // use header transformer according to comment style given in header
-        FileHeaderTransformer transformer = getTransformer( transformers, commentStyle );
-
+        final FileHeaderTransformer transformer = getTransformer( transformers, commentStyle );
 
-        for ( File file : filesToTreat )
-        {
-            processFile( transformer, file );
-        }
+        processFiles( filesToTreat, () -> file -> processFile( transformer, file ) );
         filesToTreat.clear();
     }
 
@@ -456,7 +461,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         {
             getLog().info( " - ignore file (detected " + ignoreTag + ") " + file );
 
-            FileState.ignore.addFile( file, result );
+            FileState.ignore.addFile( file, fileStates );
 
             return false;
         }
@@ -466,7 +471,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         if ( firstIndex == -1 )
         {
 
-            FileState.uptodate.addFile( file, result );
+            FileState.uptodate.addFile( file, fileStates );
             return false;
         }
 
@@ -479,7 +484,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         int lastIndex = content.indexOf( commentEndTag );
         if ( lastIndex == -1 )
         {
-            FileState.uptodate.addFile( file, result );
+            FileState.uptodate.addFile( file, fileStates );
             return false;
         }
         lastchar = ' ';
@@ -496,7 +501,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         String contentWithoutHeader = content.substring( 0, firstIndex ) + content.substring( lastIndex );
 
         FileUtils.fileWrite( processFile, contentWithoutHeader );
-        FileState.remove.addFile( file, result );
+        FileState.remove.addFile( file, fileStates );
         return true;
     }
 
@@ -510,7 +515,8 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
     private void processFile( FileHeaderTransformer transformer, File file ) throws IOException
     {
 
-        if ( processedFiles.contains( file ) )
+        // whatever will be the result, this file is treated.
+        if ( !processedFiles.add( file ) )
         {
             getLog().info( " - skip already processed file " + file );
             return;
@@ -527,15 +533,11 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         {
             getLog().warn( "skip failed file : " + e.getMessage() +
                                    ( e.getCause() == null ? "" : " Cause : " + e.getCause().getMessage() ), e );
-            FileState.fail.addFile( file, result );
+            FileState.fail.addFile( file, fileStates );
             doFinalize = false;
         }
         finally
         {
-
-            // whatever was the result, this file is treated.
-            processedFiles.add( file );
-
             if ( doFinalize )
             {
                 finalizeFile( file, processFile );
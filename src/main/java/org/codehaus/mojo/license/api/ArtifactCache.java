@@ -0,0 +1,173 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProject;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Bounded cache of dependencies (as maven project) loaded, indexed by their gav.
+ * <p>
+ * Only the data used by the plugin is kept (gav, packaging, name, url, licenses and the artifact), not the whole
+ * project graph built from the repository. The least recently used entries are evicted once the cache is full.
+ * <p>
+ * A cache is shared by the mojos of a maven session (see {@link #forSession(MavenSession, int, boolean)}) and is
+ * released with it. All methods are thread safe.
+ */
+public class ArtifactCache
+{
+
+    /**
+     * Caches by maven session, weak keys so a cache goes away with its session (long-lived maven daemons).
+     */
+    private static final Map<MavenSession, ArtifactCache> SESSION_CACHES = new WeakHashMap<MavenSession, ArtifactCache>();
+
+    private final Map<String, Object> entries;
+
+    private final boolean softValues;
+
+    /**
+     * @param maxSize    maximum number of cached projects
+     * @param softValues if {@code true}, cached projects may be reclaimed by the garbage collector
+     */
+    public ArtifactCache( final int maxSize, boolean softValues )
+    {
+        this.softValues = softValues;
+        this.entries = new LinkedHashMap<String, Object>( 16, 0.75f, true )
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, Object> eldest )
+            {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache of the given session, creating it on first use. The size and soft values settings of the first
+     * call win.
+     *
+     * @param session    maven session, or {@code null} to get a cache not shared with other mojos
+     * @param maxSize    maximum number of cached projects
+     * @param softValues if {@code true}, cached projects may be reclaimed by the garbage collector
+     * @return the cache of the session
+     */
+    public static ArtifactCache forSession( MavenSession session, int maxSize, boolean softValues )
+    {
+        if ( session == null )
+        {
+            return new ArtifactCache( maxSize, softValues );
+        }
+        synchronized ( SESSION_CACHES )
+        {
+            ArtifactCache cache = SESSION_CACHES.get( session );
+            if ( cache == null )
+            {
+                cache = new ArtifactCache( maxSize, softValues );
+                SESSION_CACHES.put( session, cache );
+            }
+            return cache;
+        }
+    }
+
+    /**
+     * @param id gav of the dependency (see {@link org.codehaus.mojo.license.utils.MojoHelper#getArtifactId})
+     * @return the cached project, or {@code null}
+     */
+    public MavenProject get( String id )
+    {
+        synchronized ( entries )
+        {
+            Object value = entries.get( id );
+            if ( value instanceof SoftReference )
+            {
+                value = ( (SoftReference<?>) value ).get();
+                if ( value == null )
+                {
+                    // reclaimed by the garbage collector
+                    entries.remove( id );
+                }
+            }
+            return (MavenProject) value;
+        }
+    }
+
+    /**
+     * Stores a slim copy of the given project.
+     *
+     * @param id      gav of the dependency
+     * @param project project built from the repository
+     * @return the stored copy, to be used instead of {@code project}
+     */
+    public MavenProject put( String id, MavenProject project )
+    {
+        MavenProject copy = slimCopy( project );
+        synchronized ( entries )
+        {
+            entries.put( id, softValues ? new SoftReference<MavenProject>( copy ) : copy );
+        }
+        return copy;
+    }
+
+    /**
+     * @return number of cached projects (some of them may have been reclaimed if using soft values)
+     */
+    public int size()
+    {
+        synchronized ( entries )
+        {
+            return entries.size();
+        }
+    }
+
+    static MavenProject slimCopy( MavenProject project )
+    {
+        MavenProject copy = new MavenProject();
+        copy.setGroupId( project.getGroupId() );
+        copy.setArtifactId( project.getArtifactId() );
+        copy.setVersion( project.getVersion() );
+        copy.setPackaging( project.getPackaging() );
+        copy.setName( project.getName() );
+        copy.setUrl( project.getUrl() );
+        for ( Object o : project.getLicenses() )
+        {
+            License license = (License) o;
+            License licenseCopy = new License();
+            licenseCopy.setName( license.getName() );
+            licenseCopy.setUrl( license.getUrl() );
+            licenseCopy.setDistribution( license.getDistribution() );
+            licenseCopy.setComments( license.getComments() );
+            copy.addLicense( licenseCopy );
+        }
+        copy.setArtifact( project.getArtifact() );
+        return copy;
+    }
+}
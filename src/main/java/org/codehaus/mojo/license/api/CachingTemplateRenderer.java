@@ -0,0 +1,152 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import freemarker.template.ObjectWrapper;
+import freemarker.template.Template;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders a template, reusing the output of previous renderings.
+ * <p>
+ * The variables of the data model read by a rendering are recorded: a template only depends on them, so the output
+ * is reused for any data model with the same values for these variables. A template which does not read a per-call
+ * variable (such as the {@code file} of the default file header description) is then rendered only once.
+ * <p>
+ * All methods are thread safe.
+ */
+public class CachingTemplateRenderer
+{
+
+    private final FreeMarkerHelper helper;
+
+    private final Template template;
+
+    /**
+     * Outputs indexed by the names of the variables read, then by the values of these variables.
+     */
+    private final Map<List<String>, Map<List<Object>, String>> outputs =
+        new ConcurrentHashMap<List<String>, Map<List<Object>, String>>();
+
+    public CachingTemplateRenderer( FreeMarkerHelper helper, Template template )
+    {
+        this.helper = helper;
+        this.template = template;
+    }
+
+    /**
+     * @param parameters data model
+     * @return the rendered template
+     * @throws IOException if the template could not be rendered
+     */
+    public String render( Map<String, Object> parameters )
+        throws IOException
+    {
+        for ( Map.Entry<List<String>, Map<List<Object>, String>> entry : outputs.entrySet() )
+        {
+            String output = entry.getValue().get( getValues( entry.getKey(), parameters ) );
+            if ( output != null )
+            {
+                return output;
+            }
+        }
+
+        RecordingHashModel model = new RecordingHashModel( parameters, template.getObjectWrapper() );
+        String output = helper.renderTemplate( template, model );
+        if ( !model.readAll )
+        {
+            List<String> names = new ArrayList<String>( model.names );
+            Map<List<Object>, String> values = outputs.get( names );
+            if ( values == null )
+            {
+                outputs.putIfAbsent( names, new ConcurrentHashMap<List<Object>, String>() );
+                values = outputs.get( names );
+            }
+            values.put( getValues( names, parameters ), output );
+        }
+        return output;
+    }
+
+    private static List<Object> getValues( List<String> names, Map<String, Object> parameters )
+    {
+        List<Object> values = new ArrayList<Object>( names.size() );
+        for ( String name : names )
+        {
+            // a null value can not be a key of the values map, keep it as a missing variable
+            Object value = parameters.get( name );
+            values.add( value == null ? Collections.emptyList() : value );
+        }
+        return values;
+    }
+
+    /**
+     * Data model recording the variables read by the template.
+     */
+    private static final class RecordingHashModel
+        implements TemplateHashModel
+    {
+
+        private final Map<String, Object> parameters;
+
+        private final ObjectWrapper wrapper;
+
+        private final Set<String> names = Collections.synchronizedSet( new TreeSet<String>() );
+
+        /**
+         * Set when the template depends on the whole data model.
+         */
+        private volatile boolean readAll;
+
+        RecordingHashModel( Map<String, Object> parameters, ObjectWrapper wrapper )
+        {
+            this.parameters = parameters;
+            this.wrapper = wrapper;
+        }
+
+        @Override
+        public TemplateModel get( String key )
+            throws TemplateModelException
+        {
+            names.add( key );
+            return wrapper.wrap( parameters.get( key ) );
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            readAll = true;
+            return parameters.isEmpty();
+        }
+    }
+}
@@ -25,19 +25,20 @@ package org.codehaus.mojo.license.api;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.factory.ArtifactFactory;
 import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
@@ -54,6 +55,7 @@ import org.apache.maven.project.artifact.MavenMetadataSource;
 import org.codehaus.mojo.license.model.Dependency;
 import org.codehaus.mojo.license.utils.FileUtil;
 import org.codehaus.mojo.license.utils.MojoHelper;
+import org.codehaus.mojo.license.utils.ParallelLookup;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
@@ -83,7 +85,7 @@ public class DefaultDependenciesTool
      * Project builder.
      */
     @Requirement
-    private MavenProjectBuilder mavenProjectBuilder;
+    MavenProjectBuilder mavenProjectBuilder;
 
     @Requirement
     private ArtifactFactory artifactFactory;
@@ -94,6 +96,17 @@ public class DefaultDependenciesTool
     @Requirement
     private ArtifactMetadataSource artifactMetadataSource;
 
+    /**
+     * Dependency filters by configuration, so their decisions are shared by the modules of a build.
+     */
+    private final Map<List<Object>, DependencyFilter> dependencyFilters = new ConcurrentHashMap<>();
+
+    /**
+     * Light pom readers by artifact cache, so parent poms read are shared by the mojos of a session.
+     */
+    private final Map<ArtifactCache, PomLicenseReader> pomLicenseReaders =
+        new WeakHashMap<ArtifactCache, PomLicenseReader>();
+
     /**
      * {@inheritDoc}
      */
@@ -101,38 +114,14 @@ public class DefaultDependenciesTool
                                                                     MavenProjectDependenciesConfigurator configuration,
                                                                     ArtifactRepository localRepository,
                                                                     List<ArtifactRepository> remoteRepositories,
-                                                                    SortedMap<String, MavenProject> cache )
+                                                                    ArtifactCache cache )
     {
 
-        boolean haveNoIncludedGroups = StringUtils.isEmpty( configuration.getIncludedGroups() );
-        boolean haveNoIncludedArtifacts = StringUtils.isEmpty( configuration.getIncludedArtifacts() );
         boolean excludeTransitiveDependencies = configuration.isExcludeTransitiveDependencies();
 
-        boolean haveExcludedGroups = StringUtils.isNotEmpty( configuration.getExcludedGroups() );
-        boolean haveExcludedArtifacts = StringUtils.isNotEmpty( configuration.getExcludedArtifacts() );
-        boolean haveExclusions = haveExcludedGroups || haveExcludedArtifacts;
-
-        Pattern includedGroupPattern = null;
-        Pattern includedArtifactPattern = null;
-        Pattern excludedGroupPattern = null;
-        Pattern excludedArtifactPattern = null;
-
-        if ( !haveNoIncludedGroups )
-        {
-            includedGroupPattern = Pattern.compile( configuration.getIncludedGroups() );
-        }
-        if ( !haveNoIncludedArtifacts )
-        {
-            includedArtifactPattern = Pattern.compile( configuration.getIncludedArtifacts() );
-        }
-        if ( haveExcludedGroups )
-        {
-            excludedGroupPattern = Pattern.compile( configuration.getExcludedGroups() );
-        }
-        if ( haveExcludedArtifacts )
-        {
-            excludedArtifactPattern = Pattern.compile( configuration.getExcludedArtifacts() );
-        }
+        DependencyFilter filter =
+            dependencyFilters.computeIfAbsent( DependencyFilter.keyOf( configuration ),
+                                               key -> DependencyFilter.of( configuration ) );
 
         Set<?> depArtifacts;
 
@@ -147,53 +136,32 @@ public class DefaultDependenciesTool
             depArtifacts = project.getDependencyArtifacts();
         }
 
-        List<String> includedScopes = configuration.getIncludedScopes();
-        List<String> excludeScopes = configuration.getExcludedScopes();
-
         boolean verbose = configuration.isVerbose();
 
         SortedMap<String, MavenProject> result = new TreeMap<>();
 
-        Map<String, Artifact> excludeArtifacts = new HashMap<>();
+        Map<String, Artifact> artifactsById = new HashMap<>();
         Map<String, Artifact> includeArtifacts = new HashMap<>();
 
-        SortedMap<String, MavenProject> localCache = new TreeMap<>();
-        if (cache != null)
-        {
-            localCache.putAll(cache);
-        }
+        Logger log = getLogger();
+
+        // included artifacts in dependency order, and the first artifact of each id not found in cache
+        List<Artifact> includedArtifacts = new ArrayList<>();
+        Map<String, MavenProject> cachedProjects = new HashMap<>();
+        Map<String, Artifact> artifactsToBuild = new LinkedHashMap<>();
 
         for ( Object o : depArtifacts )
         {
             Artifact artifact = (Artifact) o;
 
-            excludeArtifacts.put(artifact.getId(), artifact);
+            artifactsById.put( artifact.getId(), artifact );
 
-            if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() ) )
+            if ( !filter.isScopeIncluded( artifact ) )
             {
-                // the special dependencies for license databases don't count.
-                // Note that this will still see transitive deps of a license db; so using the build helper inside of another project
-                // to make them will be noisy.
+                // license database, or not in included scopes, or in excluded scopes
                 continue;
             }
 
-            String scope = artifact.getScope();
-            if ( CollectionUtils.isNotEmpty( includedScopes ) && !includedScopes.contains( scope ) )
-            {
-
-                // not in included scopes
-                continue;
-            }
-
-            if ( excludeScopes.contains( scope ) )
-            {
-
-                // in excluded scopes
-                continue;
-            }
-
-            Logger log = getLogger();
-
             String id = MojoHelper.getArtifactId( artifact );
 
             if ( verbose )
@@ -201,16 +169,7 @@ public class DefaultDependenciesTool
                 log.info( "detected artifact " + id );
             }
 
-            // Check if the project should be included
-            // If there is no specified artifacts and group to include, include all
-            boolean isToInclude = haveNoIncludedArtifacts && haveNoIncludedGroups ||
-                isIncludable( artifact, includedGroupPattern, includedArtifactPattern );
-
-            // Check if the project should be excluded
-            boolean isToExclude = isToInclude && haveExclusions &&
-                isExcludable( artifact, excludedGroupPattern, excludedArtifactPattern );
-
-            if ( !isToInclude || isToExclude )
+            if ( !filter.isIncluded( artifact.getGroupId(), artifact.getArtifactId() ) )
             {
                 if ( verbose )
                 {
@@ -219,47 +178,66 @@ public class DefaultDependenciesTool
                 continue;
             }
 
-            MavenProject depMavenProject;
+            includedArtifacts.add( artifact );
 
-            // try to get project from cache
-            depMavenProject = localCache.get( id );
+            if ( cachedProjects.containsKey( id ) || artifactsToBuild.containsKey( id ) )
+            {
+                continue;
+            }
 
-            if ( depMavenProject != null )
+            // try to get project from cache
+            MavenProject cachedProject = cache == null ? null : cache.get( id );
+            if ( cachedProject != null )
             {
-                if ( verbose )
-                {
-                    log.info( "add dependency [" + id + "] (from cache)" );
-                }
+                cachedProjects.put( id, cachedProject );
             }
             else
             {
-                // build project
+                artifactsToBuild.put( id, artifact );
+            }
+        }
 
-                try
-                {
-                    depMavenProject =
-                        mavenProjectBuilder.buildFromRepository( artifact, remoteRepositories, localRepository, true );
-                    depMavenProject.getArtifact().setScope( artifact.getScope() );
-                }
-                catch ( ProjectBuildingException e )
-                {
-                    log.warn( "Unable to obtain POM for artifact : " + artifact, e );
-                    continue;
-                }
+        // build projects, possibly in parallel, a failed build gives no project
+        Map<String, Long> buildTimes = new ConcurrentHashMap<>();
+        PomLicenseReader pomReader =
+            configuration.isLightPomReader() ? getPomLicenseReader( localRepository, cache ) : null;
+        long buildStart = System.nanoTime();
+        Map<String, MavenProject> builtProjects =
+            ParallelLookup.lookup( artifactsToBuild.keySet(), configuration.getPomBuildThreads(), "license-pom",
+                                   id -> buildProject( id, artifactsToBuild.get( id ), localRepository,
+                                                       remoteRepositories, cache, pomReader,
+                                                       buildTimes ) );
+        if ( !builtProjects.isEmpty() )
+        {
+            logBuildTimes( artifactsToBuild.keySet(), buildTimes, System.nanoTime() - buildStart, verbose );
+        }
 
-                if ( verbose )
-                {
-                    log.info( "add dependency [" + id + "]" );
-                }
+        Set<String> seenIds = new HashSet<>();
+        for ( Artifact artifact : includedArtifacts )
+        {
+            String id = MojoHelper.getArtifactId( artifact );
+            boolean firstSeen = seenIds.add( id );
+
+            MavenProject depMavenProject = cachedProjects.get( id );
+            boolean fromCache = depMavenProject != null || !firstSeen;
+            if ( depMavenProject == null )
+            {
+                depMavenProject = builtProjects.get( id );
+            }
+            if ( depMavenProject == null )
+            {
+                // could not build it
+                continue;
+            }
 
-                // store it also in cache
-                localCache.put(id, depMavenProject);
+            if ( verbose )
+            {
+                log.info( "add dependency [" + id + "]" + ( fromCache ? " (from cache)" : "" ) );
             }
 
             // keep the project
             result.put(id, depMavenProject);
 
-            excludeArtifacts.remove(artifact.getId());
             includeArtifacts.put(artifact.getId(), artifact);
         }
 
@@ -271,7 +249,11 @@ public class DefaultDependenciesTool
                 boolean remove = false;
 
                 for (int i = 1; i < dependencyTrail.size() - 1; i++) {
-                    if (excludeArtifacts.containsKey(dependencyTrail.get(i))) {
+                    String trailId = dependencyTrail.get(i);
+                    Artifact trailArtifact = artifactsById.get(trailId);
+                    // rejected by the filter, or its pom could not be built
+                    if (trailArtifact != null
+                        && (!filter.accept(trailArtifact) || !includeArtifacts.containsKey(trailId))) {
                         remove = true;
                         break;
                     }
@@ -283,11 +265,95 @@ public class DefaultDependenciesTool
             }
         }
 
-        if (cache != null) {
-            cache.putAll(result);
+        return result;
+    }
+
+    /**
+     * Builds the project of a dependency from the repository and stores it in the cache.
+     * <p>
+     * If a light pom reader is given, the pom is first read by it, the project is built only if it can not.
+     *
+     * @return the built project (its cached copy if a cache is used), or {@code null} if it could not be built
+     */
+    private MavenProject buildProject( String id, Artifact artifact, ArtifactRepository localRepository,
+                                       List<ArtifactRepository> remoteRepositories, ArtifactCache cache,
+                                       PomLicenseReader pomReader, Map<String, Long> buildTimes )
+    {
+        long start = System.nanoTime();
+        MavenProject depMavenProject;
+        try
+        {
+            if ( pomReader != null )
+            {
+                depMavenProject = pomReader.read( artifact );
+                if ( depMavenProject != null )
+                {
+                    return cache == null ? depMavenProject : cache.put( id, depMavenProject );
+                }
+            }
+            depMavenProject =
+                mavenProjectBuilder.buildFromRepository( artifact, remoteRepositories, localRepository, true );
+            depMavenProject.getArtifact().setScope( artifact.getScope() );
+        }
+        catch ( ProjectBuildingException e )
+        {
+            getLogger().warn( "Unable to obtain POM for artifact : " + artifact, e );
+            return null;
+        }
+        finally
+        {
+            buildTimes.put( id, System.nanoTime() - start );
         }
 
-        return result;
+        // store it also in cache
+        return cache == null ? depMavenProject : cache.put( id, depMavenProject );
+    }
+
+    /**
+     * @return the light pom reader shared with other mojos using the same cache, or a new one if there is no cache
+     */
+    private PomLicenseReader getPomLicenseReader( ArtifactRepository localRepository, ArtifactCache cache )
+    {
+        if ( cache == null )
+        {
+            return new PomLicenseReader( localRepository, artifactFactory, getLogger() );
+        }
+        synchronized ( pomLicenseReaders )
+        {
+            PomLicenseReader reader = pomLicenseReaders.get( cache );
+            if ( reader == null )
+            {
+                reader = new PomLicenseReader( localRepository, artifactFactory, getLogger() );
+                pomLicenseReaders.put( cache, reader );
+            }
+            return reader;
+        }
+    }
+
+    /**
+     * Reports the build time of each project, slowest first, and the total time of the build stage.
+     */
+    private void logBuildTimes( Set<String> ids, Map<String, Long> buildTimes, long elapsed, boolean verbose )
+    {
+        Logger log = getLogger();
+        if ( verbose || log.isDebugEnabled() )
+        {
+            List<String> slowestFirst = new ArrayList<>( ids );
+            slowestFirst.sort( Comparator.comparing( buildTimes::get, Comparator.reverseOrder() ) );
+            for ( String id : slowestFirst )
+            {
+                String message = "POM of [" + id + "] built in " + MojoHelper.convertTime( buildTimes.get( id ) );
+                if ( verbose )
+                {
+                    log.info( message );
+                }
+                else
+                {
+                    log.debug( message );
+                }
+            }
+        }
+        log.info( "Built " + ids.size() + " POM(s) in " + MojoHelper.convertTime( elapsed ) );
     }
 
     /**
@@ -365,121 +431,4 @@ public class DefaultDependenciesTool
                 .writeValue(thirdPartyDepsFile, listedDependencies);
     }
 
-    /**
-     * Tests if the given project is includeable against a groupdId pattern and a artifact pattern.
-     *
-     * @param project                 the project to test
-     * @param includedGroupPattern    the include group pattern
-     * @param includedArtifactPattern the include artifact pattenr
-     * @return {@code true} if the project is includavble, {@code false} otherwise
-     */
-    protected boolean isIncludable( Artifact project, Pattern includedGroupPattern, Pattern includedArtifactPattern )
-    {
-
-        Logger log = getLogger();
-
-        // check if the groupId of the project should be included
-        if ( includedGroupPattern != null )
-        {
-            // we have some defined license filters
-            try
-            {
-                Matcher matchGroupId = includedGroupPattern.matcher( project.getGroupId() );
-                if ( matchGroupId.find() )
-                {
-                    if ( log.isDebugEnabled() )
-                    {
-                        log.debug( "Include " + project.getGroupId() );
-                    }
-                    return true;
-                }
-            }
-            catch ( PatternSyntaxException e )
-            {
-                log.warn( String.format( INVALID_PATTERN_MESSAGE, includedGroupPattern.pattern() ) );
-            }
-        }
-
-        // check if the artifactId of the project should be included
-        if ( includedArtifactPattern != null )
-        {
-            // we have some defined license filters
-            try
-            {
-                Matcher matchGroupId = includedArtifactPattern.matcher( project.getArtifactId() );
-                if ( matchGroupId.find() )
-                {
-                    if ( log.isDebugEnabled() )
-                    {
-                        log.debug( "Include " + project.getArtifactId() );
-                    }
-                    return true;
-                }
-            }
-            catch ( PatternSyntaxException e )
-            {
-                log.warn( String.format( INVALID_PATTERN_MESSAGE, includedArtifactPattern.pattern() ) );
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Tests if the given project is excludable against a groupdId pattern and a artifact pattern.
-     *
-     * @param project                 the project to test
-     * @param excludedGroupPattern    the exlcude group pattern
-     * @param excludedArtifactPattern the exclude artifact pattenr
-     * @return {@code true} if the project is excludable, {@code false} otherwise
-     */
-    protected boolean isExcludable( Artifact project, Pattern excludedGroupPattern, Pattern excludedArtifactPattern )
-    {
-
-        Logger log = getLogger();
-
-        // check if the groupId of the project should be included
-        if ( excludedGroupPattern != null )
-        {
-            // we have some defined license filters
-            try
-            {
-                Matcher matchGroupId = excludedGroupPattern.matcher( project.getGroupId() );
-                if ( matchGroupId.find() )
-                {
-                    if ( log.isDebugEnabled() )
-                    {
-                        log.debug( "Exclude " + project.getGroupId() );
-                    }
-                    return true;
-                }
-            }
-            catch ( PatternSyntaxException e )
-            {
-                log.warn( String.format( INVALID_PATTERN_MESSAGE, excludedGroupPattern.pattern() ) );
-            }
-        }
-
-        // check if the artifactId of the project should be included
-        if ( excludedArtifactPattern != null )
-        {
-            // we have some defined license filters
-            try
-            {
-                Matcher matchGroupId = excludedArtifactPattern.matcher( project.getArtifactId() );
-                if ( matchGroupId.find() )
-                {
-                    if ( log.isDebugEnabled() )
-                    {
-                        log.debug( "Exclude " + project.getArtifactId() );
-                    }
-                    return true;
-                }
-            }
-            catch ( PatternSyntaxException e )
-            {
-                log.warn( String.format( INVALID_PATTERN_MESSAGE, excludedArtifactPattern.pattern() ) );
-            }
-        }
-        return false;
-    }
 }
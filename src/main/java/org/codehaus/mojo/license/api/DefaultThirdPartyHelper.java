@@ -23,6 +23,7 @@ package org.codehaus.mojo.license.api;
  */
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
@@ -35,9 +36,11 @@ import org.codehaus.mojo.license.LicenseProcessor;
 import org.codehaus.mojo.license.model.LicenseMap;
 import org.codehaus.mojo.license.nexus.SonatypeServiceLicenseProcessor;
 import org.codehaus.mojo.license.utils.LicenseRegistryClient;
+import org.codehaus.mojo.license.utils.LicenseResolutionCache;
 import org.codehaus.mojo.license.utils.SortedProperties;
 import org.codehaus.mojo.license.xray.XrayLicenseProcessor;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -101,9 +104,9 @@ public class DefaultThirdPartyHelper
     private final Log log;
 
     /**
-     * Cache of dependencies (as maven project) loaded.
+     * Cache of dependencies (as maven project) loaded, shared by the mojos of the session, or {@code null}.
      */
-    private static SortedMap<String, MavenProject> artifactCache;
+    private final ArtifactCache artifactCache;
 
     /**
      * Artifactory URL for Xray license info.
@@ -125,6 +128,16 @@ public class DefaultThirdPartyHelper
      */
     private final Boolean isUseXrayProcessor;
 
+    /**
+     * Maximum number of concurrent remote license lookups.
+     */
+    private final int remoteLookupThreads;
+
+    /**
+     * Persistent cache of remote license lookups, {@code null} if not used.
+     */
+    private final LicenseResolutionCache licenseResolutionCache;
+
     /**
      * Constructor of the helper.
      *
@@ -136,13 +149,18 @@ public class DefaultThirdPartyHelper
      * @param localRepository    maven local repository
      * @param remoteRepositories maven remote repositories
      * @param log                logger
+     * @param remoteLookupThreads maximum number of concurrent remote license lookups
+     * @param licenseResolutionCache persistent cache of remote license lookups, or {@code null}
+     * @param artifactCache      cache of loaded dependencies, or {@code null}
      */
 
     public DefaultThirdPartyHelper( MavenProject project, String encoding, boolean verbose,
                                     DependenciesTool dependenciesTool, ThirdPartyTool thirdPartyTool,
                                     ArtifactRepository localRepository, List<ArtifactRepository> remoteRepositories,
                                     Log log, String artifactoryUrl, String artifactoryAccessToken,
-                                    Boolean isUseSonatypeProcessor, Boolean isUseXrayProcessor)
+                                    Boolean isUseSonatypeProcessor, Boolean isUseXrayProcessor,
+                                    int remoteLookupThreads, LicenseResolutionCache licenseResolutionCache,
+                                    ArtifactCache artifactCache )
     {
         this.project = project;
         this.encoding = encoding;
@@ -157,17 +175,16 @@ public class DefaultThirdPartyHelper
         this.artifactoryAccessToken = artifactoryAccessToken;
         this.isUseSonatypeProcessor = isUseSonatypeProcessor;
         this.isUseXrayProcessor = isUseXrayProcessor;
+        this.remoteLookupThreads = remoteLookupThreads;
+        this.licenseResolutionCache = licenseResolutionCache;
+        this.artifactCache = artifactCache;
     }
 
     /**
      * {@inheritDoc}
      */
-    public SortedMap<String, MavenProject> getArtifactCache()
+    public ArtifactCache getArtifactCache()
     {
-        if ( artifactCache == null )
-        {
-            artifactCache = new TreeMap<String, MavenProject>();
-        }
         return artifactCache;
     }
 
@@ -258,18 +275,9 @@ public class DefaultThirdPartyHelper
             log.debug("License map before update:");
             log.debug(licenseMap.toString());
 
-            Set<MavenProject> projectsToIterate = new TreeSet<>(mavenProjects);
-
-            LicenseProcessor licenseProcessor = new XrayLicenseProcessor(log, artifactoryUrl, artifactoryAccessToken);
-
-            for (MavenProject mavenProject: projectsToIterate) {
-                List<License> licenses = licenseProcessor.getLicensesByProject(mavenProject);
-
-                if (!licenses.isEmpty()) {
-                    mavenProjects.remove(mavenProject);
-                    thirdPartyTool.addLicense(licenseMap, mavenProject, licenses);
-                }
-            }
+            XrayLicenseProcessor licenseProcessor =
+                    new XrayLicenseProcessor(log, artifactoryUrl, artifactoryAccessToken, remoteLookupThreads);
+            updateUnknownLicenses(licenseMap, mavenProjects, "xray", licenseProcessor);
 
             log.debug("License map after update:");
             log.debug(licenseMap.toString());
@@ -282,14 +290,36 @@ public class DefaultThirdPartyHelper
         log.info("Update licenses with info from Sonatype");
         SortedSet<MavenProject> mavenProjects = licenseMap.get(UNKNOWN_LICENSE_MESSAGE);
         if (mavenProjects != null) {
-            Set<MavenProject> projectsToIterate = new TreeSet<>(mavenProjects);
-            for (MavenProject mavenProject : projectsToIterate) {
-                SonatypeServiceLicenseProcessor licenseProcessor = new SonatypeServiceLicenseProcessor(log, proxyUrl);
-                List<License> licences = licenseProcessor.getLicencesByProject(mavenProject);
-                if (!licences.isEmpty()) {
-                    mavenProjects.remove(mavenProject);
-                    thirdPartyTool.addLicense(licenseMap, mavenProject, licences);
-                }
+            SonatypeServiceLicenseProcessor licenseProcessor =
+                    new SonatypeServiceLicenseProcessor(log, proxyUrl, remoteLookupThreads);
+            updateUnknownLicenses(licenseMap, mavenProjects, "sonatype", licenseProcessor);
+        }
+    }
+
+    /**
+     * Resolves the given projects with unknown license through the processor (then closes it) and moves every
+     * resolved project to its licenses. The persistent cache, if any, is consulted first.
+     * <p>
+     * Results are merged in project order, so the license map does not depend on lookup completion order.
+     */
+    private <P extends LicenseProcessor & Closeable> void updateUnknownLicenses(LicenseMap licenseMap,
+                                                                               SortedSet<MavenProject> mavenProjects,
+                                                                               String source, P licenseProcessor) {
+        Set<MavenProject> projectsToIterate = new TreeSet<>(mavenProjects);
+        Map<MavenProject, List<License>> licensesByProject;
+        try {
+            licensesByProject = licenseResolutionCache == null
+                    ? licenseProcessor.getLicensesByProjects(projectsToIterate)
+                    : licenseResolutionCache.getLicensesByProjects(source, projectsToIterate, licenseProcessor);
+        } finally {
+            IOUtils.closeQuietly(licenseProcessor);
+        }
+        for (Map.Entry<MavenProject, List<License>> entry : licensesByProject.entrySet()) {
+            MavenProject mavenProject = entry.getKey();
+            List<License> licenses = entry.getValue();
+            if (!licenses.isEmpty()) {
+                licenseMap.remove(UNKNOWN_LICENSE_MESSAGE, mavenProject);
+                thirdPartyTool.addLicense(licenseMap, mavenProject, licenses);
             }
         }
     }
@@ -366,10 +396,7 @@ public class DefaultThirdPartyHelper
             throws MojoFailureException
     {
         log.info("Loading merges from merges.txt");
-        Scanner mergesLines = new Scanner(LicenseRegistryClient.getInstance().getFileContent("merges.txt")).useDelimiter("\\n");
-        while (mergesLines.hasNext()) {
-            licenseMerges.add(mergesLines.next());
-        }
+        licenseMerges.addAll(LicenseRegistryClient.getInstance().getLicenseMerges());
 
         Set<String> licenseFound = new HashSet<String>();
 
@@ -45,27 +45,30 @@ import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
 import org.codehaus.plexus.logging.AbstractLogEnabled;
 import org.codehaus.plexus.logging.Logger;
+import org.octopusden.releng.versions.IVersionInfo;
 import org.octopusden.releng.versions.NumericVersionFactory;
 import org.octopusden.releng.versions.VersionNames;
+import org.octopusden.releng.versions.VersionRange;
 import org.octopusden.releng.versions.VersionRangeFactory;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -145,6 +148,16 @@ public class DefaultThirdPartyTool
     private final VersionRangeFactory versionRangeFactory = new VersionRangeFactory(versionNames);
     private final NumericVersionFactory numericVersionFactory = new NumericVersionFactory(versionNames);
 
+    /**
+     * Compiled version ranges of override entries, keyed by range expression.
+     */
+    private final Map<String, VersionRange> versionRanges = new ConcurrentHashMap<>();
+
+    /**
+     * Parsed project versions, keyed by version string.
+     */
+    private final Map<String, IVersionInfo> parsedVersions = new ConcurrentHashMap<>();
+
     private boolean verbose;
 
     /**
@@ -295,7 +308,7 @@ public class DefaultThirdPartyTool
 
                 // found a resolved unsafe dependency in the missing third party file
                 MavenProject resolvedProject = unsafeProjects.get( id );
-                unsafeDependencies.remove( resolvedProject );
+                licenseMap.remove( LicenseMap.UNKNOWN_LICENSE_MESSAGE, resolvedProject );
 
                 // push back to
                 result.put( id, license.trim() );
@@ -438,15 +451,11 @@ public class DefaultThirdPartyTool
             return;
         }
 
-        SortedSet<MavenProject> mainSet = licenseMap.get( mainLicense );
-        if ( mainSet == null )
+        if ( !licenseMap.containsKey( mainLicense ) && isVerbose() )
         {
-            if ( isVerbose() )
-            {
-                getLogger().warn( "No license [" + mainLicense + "] found, will create it." );
-            }
-            mainSet = new TreeSet<MavenProject>( projectComparator );
+            getLogger().warn( "No license [" + mainLicense + "] found, will create it." );
         }
+        SortedSet<MavenProject> mainSet = new TreeSet<MavenProject>( projectComparator );
         for ( String license : licenses )
         {
             SortedSet<MavenProject> set = licenseMap.get( license );
@@ -464,12 +473,14 @@ public class DefaultThirdPartyTool
                         "Merge license [" + license + "] to [" + mainLicense + "] (" + set.size() + " dependencies)." );
             }
             mainSet.addAll( set );
-            set.clear();
             licenseMap.remove( license );
         }
-        if (!mainSet.isEmpty()) {
-            licenseMap.put( mainLicense, mainSet );
-        } else {
+        if ( !mainSet.isEmpty() )
+        {
+            licenseMap.putAll( mainLicense, mainSet );
+        }
+        if ( CollectionUtils.isEmpty( licenseMap.get( mainLicense ) ) )
+        {
             getLogger().debug("No artifacts for " + mainLicense + " are found at merge");
         }
 
@@ -591,7 +602,7 @@ public class DefaultThirdPartyTool
             addLicense( licenseMap, project, licenses );
 
             // remove unknown license
-            unsafeDependencies.remove( project );
+            licenseMap.remove( LicenseMap.UNKNOWN_LICENSE_MESSAGE, project );
         }
 
         if ( unsafeDependencies.isEmpty() )
@@ -635,11 +646,13 @@ public class DefaultThirdPartyTool
             overrideMappings.load( overrideFile );
         }
 
+        Map<String, List<MavenProject>> projectsByGroupAndArtifact = indexByGroupAndArtifact( artifactCache );
+
         for ( Object o : overrideMappings.keySet() )
         {
             String id = (String) o;
 
-            List<MavenProject> projects = getProjectFromCustomOverrideFile(id, artifactCache);
+            List<MavenProject> projects = getProjectFromCustomOverrideFile( id, projectsByGroupAndArtifact );
 
             if (projects.isEmpty()) {
                 getLogger().warn( "dependency [" + id + "] does not exist in project." );
@@ -669,23 +682,17 @@ public class DefaultThirdPartyTool
 
     @Override
     public void overrideLicenses(LicenseMap licenseMap, SortedMap<String, MavenProject> artifactCache, String encoding, String customOverrideFile) {
-        SortedProperties overrideMappings = new SortedProperties( encoding );
-
         // there is some unsafe dependencies
         getLogger().info( "Load overrides from " + customOverrideFile);
         getLogger().info("Artifact cache " + artifactCache);
-        // load the missing file
-        try {
-            overrideMappings.load(new StringReader(LicenseRegistryClient.getInstance().getFileContent(customOverrideFile)));
-        } catch (final IOException ioException) {
-            throw new IllegalStateException(ioException);
-        }
+        // parsed once per registry
+        Map<String, String> overrideMappings = LicenseRegistryClient.getInstance().getLicenseOverrides(customOverrideFile);
+        Map<String, List<MavenProject>> projectsByGroupAndArtifact = indexByGroupAndArtifact(artifactCache);
 
-        for ( Object o : overrideMappings.keySet() )
+        for ( String id : overrideMappings.keySet() )
         {
-            String id = (String) o;
 
-            List<MavenProject> projects = getProjectFromCustomOverrideFile(id, artifactCache);
+            List<MavenProject> projects = getProjectFromCustomOverrideFile(id, projectsByGroupAndArtifact);
 
             if ( projects.isEmpty() )
             {
@@ -717,6 +724,18 @@ public class DefaultThirdPartyTool
     }
 
     public List<MavenProject> getProjectFromCustomOverrideFile(String id, SortedMap<String, MavenProject> artifactCache) {
+        return getProjectFromCustomOverrideFile(id, indexByGroupAndArtifact(artifactCache));
+    }
+
+    /**
+     * Gets the projects matching an override entry {@code groupId--artifactId--version(s)}.
+     *
+     * @param id                         id of the override entry
+     * @param projectsByGroupAndArtifact projects indexed by {@code groupId:artifactId}
+     *                                   (see {@link #indexByGroupAndArtifact(SortedMap)})
+     * @return the matching projects, in artifact cache order
+     */
+    List<MavenProject> getProjectFromCustomOverrideFile(String id, Map<String, List<MavenProject>> projectsByGroupAndArtifact) {
         getLogger().debug("get project for dependency [" + id + "]");
         String[] overrideProjectGAV = id.split("--");
 
@@ -729,28 +748,48 @@ public class DefaultThirdPartyTool
         String overrideArtifactId = overrideProjectGAV[1];
         String overrideVersionId = overrideProjectGAV[2];
 
+        List<MavenProject> candidates = projectsByGroupAndArtifact.get(overrideGroupId + ":" + overrideArtifactId);
+        if (candidates == null) {
+            return Collections.emptyList();
+        }
+
         // Ensure versionIdRanges is in the correct format ( must start and end with [ or ( and ) or ] )
         String versionIdRanges = overrideVersionId.matches("^[\\[(].*[\\])]$") ? overrideVersionId : "[" + overrideVersionId + "]";
+        VersionRange versionRange = versionRanges.computeIfAbsent(versionIdRanges, versionRangeFactory::create);
 
-        return artifactCache.entrySet().stream()
-                .filter(entry -> entry.getValue().getGroupId().equals(overrideGroupId) && entry.getValue().getArtifactId().equals(overrideArtifactId))
-                .filter(entry -> {
-                    getLogger().debug("Version check for " + entry.getKey());
+        return candidates.stream()
+                .filter(project -> {
+                    getLogger().debug("Version check for " + project.getId());
                     getLogger().debug("\tVersion ranges: " + versionIdRanges);
-                    getLogger().debug("\tProject version: " + entry.getValue().getVersion());
+                    getLogger().debug("\tProject version: " + project.getVersion());
 
-                    boolean isVersionValid = versionRangeFactory.create(versionIdRanges).containsVersion(
-                            numericVersionFactory.create(entry.getValue().getVersion())
+                    boolean isVersionValid = versionRange.containsVersion(
+                            parsedVersions.computeIfAbsent(project.getVersion(), numericVersionFactory::create)
                     );
 
                     getLogger().debug("\tIs version valid: " + isVersionValid);
 
                     return isVersionValid;
                 })
-                .map(Map.Entry::getValue)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Indexes the projects of the artifact cache by {@code groupId:artifactId}, so each override entry is a single
+     * lookup instead of a scan of the whole cache.
+     *
+     * @param artifactCache cache of loaded artifacts
+     * @return projects by {@code groupId:artifactId}, each list in artifact cache order
+     */
+    Map<String, List<MavenProject>> indexByGroupAndArtifact(SortedMap<String, MavenProject> artifactCache) {
+        Map<String, List<MavenProject>> result = new LinkedHashMap<>();
+        for (MavenProject project : artifactCache.values()) {
+            result.computeIfAbsent(project.getGroupId() + ":" + project.getArtifactId(), key -> new ArrayList<>())
+                    .add(project);
+        }
+        return result;
+    }
+
 
     /**
      * {@inheritDoc}
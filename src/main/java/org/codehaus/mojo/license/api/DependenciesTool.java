@@ -51,7 +51,8 @@ public interface DependenciesTool
      * @param configuration      the configuration
      * @param localRepository    local repository used to resolv dependencies
      * @param remoteRepositories remote repositories used to resolv dependencies
-     * @param cache              a optional cache where to keep resolved dependencies
+     * @param cache              a optional cache where to keep resolved dependencies, projects found in or stored
+     *                           to the cache are its slim copies
      * @return the map of resolved dependencies indexed by their unique id.
      * @see MavenProjectDependenciesConfigurator
      */
@@ -59,7 +60,7 @@ public interface DependenciesTool
                                                              MavenProjectDependenciesConfigurator configuration,
                                                              ArtifactRepository localRepository,
                                                              List<ArtifactRepository> remoteRepositories,
-                                                             SortedMap<String, MavenProject> cache );
+                                                             ArtifactCache cache );
 
     /**
      * Load project artifacts.
@@ -0,0 +1,186 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.artifact.Artifact;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which dependencies are loaded, from the scopes and the include / exclude patterns of a
+ * {@link MavenProjectDependenciesConfigurator}.
+ * <p>
+ * Patterns are compiled once, and the decision taken for each {@code groupId} and each {@code artifactId} is kept,
+ * so a filter can be reused by all the modules of a build having the same configuration. All methods are thread safe.
+ */
+public class DependencyFilter
+{
+
+    private static final int INCLUDED = 1;
+
+    private static final int EXCLUDED = 2;
+
+    private final Pattern includedGroupPattern;
+
+    private final Pattern includedArtifactPattern;
+
+    private final Pattern excludedGroupPattern;
+
+    private final Pattern excludedArtifactPattern;
+
+    private final Set<String> includedScopes;
+
+    private final Set<String> excludedScopes;
+
+    /**
+     * Pattern matches ({@link #INCLUDED} and {@link #EXCLUDED} flags) by {@code groupId}.
+     */
+    private final Map<String, Integer> groupDecisions = new ConcurrentHashMap<String, Integer>();
+
+    /**
+     * Pattern matches ({@link #INCLUDED} and {@link #EXCLUDED} flags) by {@code artifactId}.
+     */
+    private final Map<String, Integer> artifactDecisions = new ConcurrentHashMap<String, Integer>();
+
+    /**
+     * @param includedGroups    pattern of {@code groupId} to include, {@code null} or empty to not include by group
+     * @param includedArtifacts pattern of {@code artifactId} to include, {@code null} or empty to not include by
+     *                          artifact (if both include patterns are empty, all dependencies are included)
+     * @param excludedGroups    pattern of {@code groupId} to exclude, {@code null} or empty for none
+     * @param excludedArtifacts pattern of {@code artifactId} to exclude, {@code null} or empty for none
+     * @param includedScopes    scopes to include, {@code null} or empty to include all scopes
+     * @param excludedScopes    scopes to exclude, may be {@code null}
+     */
+    public DependencyFilter( String includedGroups, String includedArtifacts, String excludedGroups,
+                             String excludedArtifacts, Collection<String> includedScopes,
+                             Collection<String> excludedScopes )
+    {
+        this.includedGroupPattern = compile( includedGroups );
+        this.includedArtifactPattern = compile( includedArtifacts );
+        this.excludedGroupPattern = compile( excludedGroups );
+        this.excludedArtifactPattern = compile( excludedArtifacts );
+        this.includedScopes = toSet( includedScopes );
+        this.excludedScopes = toSet( excludedScopes );
+    }
+
+    /**
+     * @param configuration configuration of the dependencies to load
+     * @return the filter of the given configuration
+     */
+    public static DependencyFilter of( MavenProjectDependenciesConfigurator configuration )
+    {
+        return new DependencyFilter( configuration.getIncludedGroups(), configuration.getIncludedArtifacts(),
+                                     configuration.getExcludedGroups(), configuration.getExcludedArtifacts(),
+                                     configuration.getIncludedScopes(), configuration.getExcludedScopes() );
+    }
+
+    /**
+     * @param configuration configuration of the dependencies to load
+     * @return a key equal for configurations having the same filter
+     */
+    public static List<Object> keyOf( MavenProjectDependenciesConfigurator configuration )
+    {
+        return Arrays.<Object>asList( configuration.getIncludedGroups(), configuration.getIncludedArtifacts(),
+                                      configuration.getExcludedGroups(), configuration.getExcludedArtifacts(),
+                                      toSet( configuration.getIncludedScopes() ),
+                                      toSet( configuration.getExcludedScopes() ) );
+    }
+
+    /**
+     * @param artifact dependency to test
+     * @return {@code true} if the dependency is accepted by its type and scope and by the patterns
+     */
+    public boolean accept( Artifact artifact )
+    {
+        return isScopeIncluded( artifact ) && isIncluded( artifact.getGroupId(), artifact.getArtifactId() );
+    }
+
+    /**
+     * @param artifact dependency to test
+     * @return {@code true} if the dependency is not a license database and its scope is included and not excluded
+     */
+    public boolean isScopeIncluded( Artifact artifact )
+    {
+        if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() ) )
+        {
+            // the special dependencies for license databases don't count.
+            return false;
+        }
+        String scope = artifact.getScope();
+        return ( includedScopes.isEmpty() || includedScopes.contains( scope ) ) && !excludedScopes.contains( scope );
+    }
+
+    /**
+     * @param groupId    groupId of the dependency
+     * @param artifactId artifactId of the dependency
+     * @return {@code true} if the dependency is included (no include pattern or one of them matches) and not
+     * excluded by the patterns
+     */
+    public boolean isIncluded( String groupId, String artifactId )
+    {
+        int group = decision( groupDecisions, groupId, includedGroupPattern, excludedGroupPattern );
+        int artifact = decision( artifactDecisions, artifactId, includedArtifactPattern, excludedArtifactPattern );
+        boolean included = includedGroupPattern == null && includedArtifactPattern == null
+            || ( ( group | artifact ) & INCLUDED ) != 0;
+        return included && ( ( group | artifact ) & EXCLUDED ) == 0;
+    }
+
+    private static int decision( Map<String, Integer> decisions, String value, Pattern included, Pattern excluded )
+    {
+        Integer decision = decisions.get( value );
+        if ( decision == null )
+        {
+            int flags = 0;
+            if ( included != null && included.matcher( value ).find() )
+            {
+                flags |= INCLUDED;
+            }
+            if ( excluded != null && excluded.matcher( value ).find() )
+            {
+                flags |= EXCLUDED;
+            }
+            decision = flags;
+            decisions.put( value, decision );
+        }
+        return decision;
+    }
+
+    private static Pattern compile( String pattern )
+    {
+        return StringUtils.isEmpty( pattern ) ? null : Pattern.compile( pattern );
+    }
+
+    private static Set<String> toSet( Collection<String> values )
+    {
+        return values == null ? Collections.<String>emptySet() : new HashSet<String>( values );
+    }
+}
@@ -130,11 +130,23 @@ public class FreeMarkerHelper
     public String renderTemplate( Template template, Map<String, Object> parameters )
         throws IOException
     {
+        return renderTemplate( template, (Object) parameters );
+    }
+
+    /**
+     * @param template  template to render
+     * @param dataModel root of the data model, a {@link Map} or a {@link freemarker.template.TemplateHashModel}
+     * @return the rendered template
+     * @throws IOException if the template could not be rendered
+     */
+    public String renderTemplate( Template template, Object dataModel )
+        throws IOException
+    {
 
         StringWriter out = new StringWriter();
         try
         {
-            template.process( parameters, out );
+            template.process( dataModel, out );
         }
         catch ( TemplateException e )
         {
@@ -26,7 +26,7 @@ import java.util.List;
 
 /**
  * Contract to configure which dependencies will be loaded by the dependency tool via the method
- * {@link DependenciesTool#loadProjectDependencies(org.apache.maven.project.MavenProject, MavenProjectDependenciesConfigurator, org.apache.maven.artifact.repository.ArtifactRepository, List, java.util.SortedMap)}
+ * {@link DependenciesTool#loadProjectDependencies(org.apache.maven.project.MavenProject, MavenProjectDependenciesConfigurator, org.apache.maven.artifact.repository.ArtifactRepository, List, ArtifactCache)}
  *
  * @author tchemit dev@tchemit.fr
  * @see DependenciesTool
@@ -84,4 +84,15 @@ public interface MavenProjectDependenciesConfigurator
      * @return {@code true} if verbose mode is on, {@code false} otherwise.
      */
     boolean isVerbose();
+
+    /**
+     * @return maximum number of dependency POMs built concurrently, {@code 1} builds them one after another.
+     */
+    int getPomBuildThreads();
+
+    /**
+     * @return {@code true} to read the licenses of dependencies straight from their pom in the local repository
+     * (see {@link PomLicenseReader}) instead of building the whole project.
+     */
+    boolean isLightPomReader();
 }
@@ -0,0 +1,377 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.ReaderFactory;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the license information of a dependency straight from its pom in the local repository, instead of building
+ * the whole maven project.
+ * <p>
+ * Only {@code name}, {@code url}, {@code packaging}, {@code licenses} and {@code parent} are read. Parent poms are
+ * read only when licenses or url are missing (they are inherited), and the inherited values of each parent are kept,
+ * so a parent shared by many dependencies is read once.
+ * <p>
+ * {@link #read(Artifact)} gives {@code null} whenever the result could differ from the project builder one (pom or
+ * parent pom not in the local repository, malformed pom, values with expressions to interpolate): the caller should
+ * then build the project.
+ */
+public class PomLicenseReader
+{
+
+    private static final String PROJECT = "project";
+
+    private final ArtifactRepository localRepository;
+
+    private final ArtifactFactory artifactFactory;
+
+    private final Logger log;
+
+    /**
+     * Inherited values of parent poms, indexed by their gav.
+     */
+    private final Map<String, Inherited> parents = new ConcurrentHashMap<String, Inherited>();
+
+    public PomLicenseReader( ArtifactRepository localRepository, ArtifactFactory artifactFactory, Logger log )
+    {
+        this.localRepository = localRepository;
+        this.artifactFactory = artifactFactory;
+        this.log = log;
+    }
+
+    /**
+     * @param artifact dependency to read
+     * @return a project with the gav, packaging, name, url and licenses of the dependency, or {@code null} if the
+     * project must be built
+     */
+    public MavenProject read( Artifact artifact )
+    {
+        String version = artifact.getBaseVersion();
+        Pom pom = parse( artifact.getGroupId(), artifact.getArtifactId(), version );
+        if ( pom == null || pom.hasExpression() )
+        {
+            return null;
+        }
+
+        List<License> licenses = pom.licenses;
+        String url = pom.url;
+        if ( licenses.isEmpty() || url == null )
+        {
+            Inherited inherited = pom.parentId == null ? Inherited.NONE : getInherited( pom.parentId );
+            if ( inherited == null )
+            {
+                return null;
+            }
+            if ( licenses.isEmpty() )
+            {
+                licenses = inherited.licenses;
+            }
+            if ( url == null )
+            {
+                url = appendPath( inherited.url, artifact.getArtifactId() );
+            }
+        }
+
+        MavenProject project = new MavenProject();
+        project.setGroupId( artifact.getGroupId() );
+        project.setArtifactId( artifact.getArtifactId() );
+        project.setVersion( version );
+        project.setPackaging( pom.packaging == null ? "jar" : pom.packaging );
+        project.setName( pom.name );
+        project.setUrl( url );
+        for ( License license : licenses )
+        {
+            project.addLicense( copy( license ) );
+        }
+        Artifact projectArtifact =
+            artifactFactory.createProjectArtifact( artifact.getGroupId(), artifact.getArtifactId(), version );
+        projectArtifact.setScope( artifact.getScope() );
+        project.setArtifact( projectArtifact );
+        return project;
+    }
+
+    /**
+     * @return values inherited from the given parent, or {@code null} if they could not be read
+     */
+    private Inherited getInherited( String[] gav )
+    {
+        String id = gav[0] + ":" + gav[1] + ":" + gav[2];
+        Inherited inherited = parents.get( id );
+        if ( inherited != null )
+        {
+            return inherited;
+        }
+
+        Pom pom = parse( gav[0], gav[1], gav[2] );
+        if ( pom == null || pom.hasExpression() )
+        {
+            return null;
+        }
+        List<License> licenses = pom.licenses;
+        String url = pom.url;
+        if ( ( licenses.isEmpty() || url == null ) && pom.parentId != null )
+        {
+            Inherited grandParent = getInherited( pom.parentId );
+            if ( grandParent == null )
+            {
+                return null;
+            }
+            if ( licenses.isEmpty() )
+            {
+                licenses = grandParent.licenses;
+            }
+            if ( url == null )
+            {
+                url = appendPath( grandParent.url, gav[1] );
+            }
+        }
+        inherited = new Inherited( licenses, url );
+        Inherited previous = parents.putIfAbsent( id, inherited );
+        return previous == null ? inherited : previous;
+    }
+
+    private Pom parse( String groupId, String artifactId, String version )
+    {
+        Artifact pomArtifact = artifactFactory.createProjectArtifact( groupId, artifactId, version );
+        File file = new File( localRepository.getBasedir(), localRepository.pathOf( pomArtifact ) );
+        if ( !file.isFile() )
+        {
+            log.debug( "No pom " + file + " in local repository" );
+            return null;
+        }
+        try ( Reader reader = ReaderFactory.newXmlReader( file ) )
+        {
+            return parse( reader );
+        }
+        catch ( IOException | XmlPullParserException e )
+        {
+            log.debug( "Could not read pom " + file + ": " + e.getMessage() );
+            return null;
+        }
+    }
+
+    static Pom parse( Reader reader )
+        throws IOException, XmlPullParserException
+    {
+        XmlPullParser parser = new MXParser();
+        parser.setInput( reader );
+
+        Pom pom = new Pom();
+        String[] parent = new String[3];
+        License license = null;
+        List<String> path = new ArrayList<String>();
+        int event = parser.getEventType();
+        while ( event != XmlPullParser.END_DOCUMENT )
+        {
+            if ( event == XmlPullParser.START_TAG )
+            {
+                path.add( parser.getName() );
+                String element = parser.getName();
+                int depth = path.size();
+                if ( depth == 2 && isIn( path, PROJECT ) )
+                {
+                    if ( "name".equals( element ) )
+                    {
+                        pom.name = text( parser, path );
+                    }
+                    else if ( "url".equals( element ) )
+                    {
+                        pom.url = text( parser, path );
+                    }
+                    else if ( "packaging".equals( element ) )
+                    {
+                        pom.packaging = text( parser, path );
+                    }
+                }
+                else if ( depth == 3 && isIn( path, PROJECT, "parent" ) )
+                {
+                    if ( "groupId".equals( element ) )
+                    {
+                        parent[0] = text( parser, path );
+                    }
+                    else if ( "artifactId".equals( element ) )
+                    {
+                        parent[1] = text( parser, path );
+                    }
+                    else if ( "version".equals( element ) )
+                    {
+                        parent[2] = text( parser, path );
+                    }
+                }
+                else if ( depth == 3 && isIn( path, PROJECT, "licenses" ) && "license".equals( element ) )
+                {
+                    license = new License();
+                    pom.licenses.add( license );
+                }
+                else if ( depth == 4 && license != null && isIn( path, PROJECT, "licenses", "license" ) )
+                {
+                    if ( "name".equals( element ) )
+                    {
+                        license.setName( text( parser, path ) );
+                    }
+                    else if ( "url".equals( element ) )
+                    {
+                        license.setUrl( text( parser, path ) );
+                    }
+                    else if ( "distribution".equals( element ) )
+                    {
+                        license.setDistribution( text( parser, path ) );
+                    }
+                    else if ( "comments".equals( element ) )
+                    {
+                        license.setComments( text( parser, path ) );
+                    }
+                }
+            }
+            else if ( event == XmlPullParser.END_TAG )
+            {
+                path.remove( path.size() - 1 );
+            }
+            event = parser.next();
+        }
+        if ( parent[0] != null && parent[1] != null && parent[2] != null )
+        {
+            pom.parentId = parent;
+        }
+        return pom;
+    }
+
+    /**
+     * Reads the text of the current element, the parser is then on its end tag (already popped from the path).
+     */
+    private static String text( XmlPullParser parser, List<String> path )
+        throws IOException, XmlPullParserException
+    {
+        String text = parser.nextText().trim();
+        path.remove( path.size() - 1 );
+        return text;
+    }
+
+    private static boolean isIn( List<String> path, String... parents )
+    {
+        for ( int i = 0; i < parents.length; i++ )
+        {
+            if ( !parents[i].equals( path.get( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Url of a child as inherited by the project builder.
+     */
+    private static String appendPath( String parentUrl, String artifactId )
+    {
+        if ( parentUrl == null )
+        {
+            return null;
+        }
+        return parentUrl.endsWith( "/" ) ? parentUrl + artifactId : parentUrl + "/" + artifactId;
+    }
+
+    private static License copy( License license )
+    {
+        License copy = new License();
+        copy.setName( license.getName() );
+        copy.setUrl( license.getUrl() );
+        copy.setDistribution( license.getDistribution() );
+        copy.setComments( license.getComments() );
+        return copy;
+    }
+
+    /**
+     * Values read from a pom.
+     */
+    static final class Pom
+    {
+        String name;
+
+        String url;
+
+        String packaging;
+
+        final List<License> licenses = new ArrayList<License>();
+
+        String[] parentId;
+
+        boolean hasExpression()
+        {
+            if ( isExpression( name ) || isExpression( url ) || isExpression( packaging ) )
+            {
+                return true;
+            }
+            for ( License license : licenses )
+            {
+                if ( isExpression( license.getName() ) || isExpression( license.getUrl() ) )
+                {
+                    return true;
+                }
+            }
+            return parentId != null
+                && ( isExpression( parentId[0] ) || isExpression( parentId[1] ) || isExpression( parentId[2] ) );
+        }
+
+        private static boolean isExpression( String value )
+        {
+            return value != null && value.contains( "${" );
+        }
+    }
+
+    /**
+     * Values a pom passes down to its children.
+     */
+    private static final class Inherited
+    {
+        static final Inherited NONE = new Inherited( Collections.<License>emptyList(), null );
+
+        final List<License> licenses;
+
+        final String url;
+
+        Inherited( List<License> licenses, String url )
+        {
+            this.licenses = licenses;
+            this.url = url;
+        }
+    }
+}
@@ -116,7 +116,7 @@ public interface ThirdPartyHelper
      *
      * @return the cache of loaded dependencies indexed by their gav
      */
-    SortedMap<String, MavenProject> getArtifactCache();
+    ArtifactCache getArtifactCache();
 
     /**
      * Loads unsafe mappings. Unsafe mappings are files that supply license metadata
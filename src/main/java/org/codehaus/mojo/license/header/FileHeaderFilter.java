@@ -135,42 +135,57 @@ public abstract class FileHeaderFilter
         }
         if ( getMatchIndexFor( ch, getHeader() ) == NOT_FOUND )
         {
+            return transformer.toHeaderContent( filterHeader( ch ) );
+        }
+        // Means we detects the process start tag but not the end one.
+        // coming then here from the flush filter method... So changes nothing
+        // just return the text as it comes.
+        return ch;
+    }
 
-            // the header was detected, mark file to be touched
-            touched = true;
-
-            // obtain old header model
-            FileHeaderTransformer headerTransformer = getTransformer();
-            String tmp = headerTransformer.unboxComent( ch );
-            FileHeader oldHeader = headerTransformer.toFileHeader( tmp );
-
-            // obtain the new header (according to what to update)
-            FileHeader newFileHeader = getNewHeader( oldHeader );
+    /**
+     * Checks a header without producing any content: afterwards {@link #isTouched()} and {@link #isModified()} are
+     * set as if the whole file was processed.
+     *
+     * @param ch content found between the process start and end tags
+     */
+    public void check( String ch )
+    {
+        reset();
+        detectHeader = true;
+        filterHeader( ch );
+    }
 
-            FileHeader header;
+    /**
+     * Marks the header as touched, and as modified if it must be updated.
+     *
+     * @param ch content found between the process start and end tags
+     * @return the header to write
+     */
+    private FileHeader filterHeader( String ch )
+    {
+        // the header was detected, mark file to be touched
+        touched = true;
 
-            if ( newFileHeader == null )
-            {
+        // obtain old header model
+        FileHeaderTransformer headerTransformer = getTransformer();
+        String tmp = headerTransformer.unboxComent( ch );
+        FileHeader oldHeader = headerTransformer.toFileHeader( tmp );
 
-                // keep the old header
-                header = oldHeader;
+        // obtain the new header (according to what to update)
+        FileHeader newFileHeader = getNewHeader( oldHeader );
 
-            }
-            else
-            {
+        if ( newFileHeader == null )
+        {
 
-                // mark that the header was updated
-                modified = true;
+            // keep the old header
+            return oldHeader;
+        }
 
-                header = newFileHeader;
-            }
+        // mark that the header was updated
+        modified = true;
 
-            return transformer.toHeaderContent( header );
-        }
-        // Means we detects the process start tag but not the end one.
-        // coming then here from the flush filter method... So changes nothing
-        // just return the text as it comes.
-        return ch;
+        return newFileHeader;
     }
 
     /**
@@ -0,0 +1,236 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Locates the header of a file from a bounded prefix of it, without processing the whole file.
+ * <p>
+ * Only the prefix is kept in memory: the rest of the file is just scanned for the ignore tag and for other process
+ * start tags, so the result is the same as the one of the {@link FileHeaderProcessor} on the whole content. When the
+ * header region is not fully contained in the prefix, the state is {@link State#UNKNOWN} and the file must be
+ * processed.
+ */
+public class FileHeaderPrefix
+{
+
+    /**
+     * State of the header of a file.
+     */
+    public enum State
+    {
+        /**
+         * The file contains the ignore tag.
+         */
+        IGNORED,
+        /**
+         * The file contains no process start tag.
+         */
+        NO_HEADER,
+        /**
+         * The header is fully contained in the prefix (see {@link #getHeaderContent()}).
+         */
+        HEADER,
+        /**
+         * The header could not be located from the prefix, the file must be processed.
+         */
+        UNKNOWN
+    }
+
+    private static final String LINE_SEPARATOR = System.getProperty( "line.separator" );
+
+    private final State state;
+
+    private final String headerContent;
+
+    private FileHeaderPrefix( State state, String headerContent )
+    {
+        this.state = state;
+        this.headerContent = headerContent;
+    }
+
+    public State getState()
+    {
+        return state;
+    }
+
+    /**
+     * @return the content between the process start and end tags, as given to
+     * {@link FileHeaderFilter#check(String)}, or {@code null} if state is not {@link State#HEADER}
+     */
+    public String getHeaderContent()
+    {
+        return headerContent;
+    }
+
+    /**
+     * Reads the prefix of a file and locates its header.
+     *
+     * @param file       file to read
+     * @param encoding   encoding of the file
+     * @param prefixSize maximum number of bytes of the prefix
+     * @param startTag   process start tag
+     * @param endTag     process end tag
+     * @param ignoreTag  tag marking files to ignore
+     * @return the state of the header of the file
+     * @throws IOException if the file could not be read
+     */
+    public static FileHeaderPrefix read( File file, String encoding, int prefixSize, String startTag, String endTag,
+                                         String ignoreTag )
+        throws IOException
+    {
+        CharsetDecoder decoder = Charset.forName( encoding ).newDecoder()
+            .onMalformedInput( CodingErrorAction.REPLACE )
+            .onUnmappableCharacter( CodingErrorAction.REPLACE );
+        ByteBuffer bytes = ByteBuffer.allocate( prefixSize );
+        CharBuffer chars = CharBuffer.allocate( (int) Math.ceil( prefixSize * decoder.maxCharsPerByte() ) + 1 );
+
+        try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) )
+        {
+            boolean end = decode( channel, decoder, bytes, chars );
+            String prefix = chars.toString();
+
+            if ( prefix.contains( ignoreTag ) )
+            {
+                return new FileHeaderPrefix( State.IGNORED, null );
+            }
+
+            FileHeaderPrefix result = locate( prefix, startTag, endTag );
+            if ( end || result.state == State.UNKNOWN )
+            {
+                return result;
+            }
+
+            // scan the rest of the file, the tail of the previous chunk is kept to find tags across chunks
+            int overlap = Math.max( startTag.length(), ignoreTag.length() ) - 1;
+            String previous = prefix;
+            while ( !end )
+            {
+                end = decode( channel, decoder, bytes, chars );
+                int carry = Math.min( overlap, previous.length() );
+                String window = previous.substring( previous.length() - carry ) + chars;
+                if ( window.contains( ignoreTag ) )
+                {
+                    return new FileHeaderPrefix( State.IGNORED, null );
+                }
+                if ( window.indexOf( startTag, Math.max( 0, carry - startTag.length() + 1 ) ) != -1 )
+                {
+                    // another header (or a header starting after the prefix)
+                    return new FileHeaderPrefix( State.UNKNOWN, null );
+                }
+                previous = window;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Locates the header in the given text, the same way {@link FileHeaderFilter} does.
+     */
+    static FileHeaderPrefix locate( String content, String startTag, String endTag )
+    {
+        int start = content.indexOf( startTag );
+        if ( start == -1 )
+        {
+            return new FileHeaderPrefix( State.NO_HEADER, null );
+        }
+        int end = content.indexOf( endTag, start );
+        if ( end < start + startTag.length()
+            || content.indexOf( startTag, start + startTag.length() ) != -1 )
+        {
+            // no end tag, or more than one start tag: the processor reports it
+            return new FileHeaderPrefix( State.UNKNOWN, null );
+        }
+        String header = content.substring( start + startTag.length(), end );
+        return new FileHeaderPrefix( State.HEADER, normalizeLineSeparators( header ) );
+    }
+
+    /**
+     * Reads the next chunk of the file into {@code bytes} and decodes it into {@code chars} (flipped for reading).
+     * The bytes of an incomplete character are kept for the next chunk.
+     *
+     * @return {@code true} if the end of the file was reached
+     */
+    private static boolean decode( FileChannel channel, CharsetDecoder decoder, ByteBuffer bytes, CharBuffer chars )
+        throws IOException
+    {
+        boolean end = false;
+        while ( bytes.hasRemaining() )
+        {
+            if ( channel.read( bytes ) == -1 )
+            {
+                end = true;
+                break;
+            }
+        }
+        bytes.flip();
+        chars.clear();
+        decoder.decode( bytes, chars, end );
+        if ( end )
+        {
+            decoder.flush( chars );
+        }
+        bytes.compact();
+        chars.flip();
+        return end;
+    }
+
+    /**
+     * The processor reads the file line by line, so the header it filters uses the platform line separator.
+     */
+    private static String normalizeLineSeparators( String text )
+    {
+        StringBuilder result = new StringBuilder( text.length() );
+        int length = text.length();
+        for ( int i = 0; i < length; i++ )
+        {
+            char c = text.charAt( i );
+            if ( c == '\r' )
+            {
+                if ( i + 1 < length && text.charAt( i + 1 ) == '\n' )
+                {
+                    i++;
+                }
+                result.append( LINE_SEPARATOR );
+            }
+            else if ( c == '\n' )
+            {
+                result.append( LINE_SEPARATOR );
+            }
+            else
+            {
+                result.append( c );
+            }
+        }
+        return result.toString();
+    }
+}
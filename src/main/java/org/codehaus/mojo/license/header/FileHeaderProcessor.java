@@ -31,6 +31,7 @@ import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.HeaderInsertion;
 import org.nuiton.processor.Processor;
 
 /**
@@ -46,6 +47,16 @@ public class FileHeaderProcessor extends Processor
      */
     private final FileHeaderFilter filter;
 
+    /**
+     * scanner of the headers, used unless the nuiton processor is required.
+     */
+    private final FileHeaderScanner scanner;
+
+    /**
+     * flag set to {@code true} to filter the content with the nuiton processor instead of the scanner.
+     */
+    private boolean legacyProcessor;
+
     public FileHeaderProcessor( FileHeaderFilter filter, FileHeader fileHeader, FileHeaderTransformer transformer )
     {
         if ( filter == null )
@@ -61,6 +72,7 @@ public class FileHeaderProcessor extends Processor
             throw new IllegalStateException( "no file header transformer set." );
         }
         this.filter = filter;
+        this.scanner = new FileHeaderScanner( filter );
         setInputFilter( filter );
         filter.setFileHeader( fileHeader );
         filter.setTransformer( transformer );
@@ -72,6 +84,15 @@ public class FileHeaderProcessor extends Processor
         return filter.getTransformer().addHeader( filter.getFullHeaderContent(), content );
     }
 
+    /**
+     * @param content the content of the file
+     * @return where and how {@link #addHeader(String)} changes the content
+     */
+    public HeaderInsertion getHeaderInsertion( String content )
+    {
+        return filter.getTransformer().getHeaderInsertion( filter.getFullHeaderContent(), content );
+    }
+
     /**
      * @return {@code true} if processed file was touched (says the header was
      * fully found), {@code false} otherwise
@@ -106,6 +127,21 @@ public class FileHeaderProcessor extends Processor
 
         filter.reset();
 
+        if ( !legacyProcessor )
+        {
+            String outputContent = scanner.process( inputContent );
+            Writer output = new OutputStreamWriter( new FileOutputStream( outputFile ), encoding );
+            try
+            {
+                output.write( outputContent );
+            }
+            finally
+            {
+                output.close();
+            }
+            return;
+        }
+
         Reader input = new InputStreamReader(new ByteArrayInputStream(inputContent.getBytes(encoding)), encoding);
         try
         {
@@ -125,6 +161,35 @@ public class FileHeaderProcessor extends Processor
         }
     }
 
+    /**
+     * Checks the header found between the process tags of a file, without writing anything.
+     *
+     * @param headerContent content between the process start and end tags
+     * @see FileHeaderFilter#check(String)
+     */
+    public synchronized void check( String headerContent )
+    {
+        filter.check( headerContent );
+    }
+
+    /**
+     * @return {@code true} if the content is filtered with the nuiton processor instead of the header scanner
+     */
+    public boolean isLegacyProcessor()
+    {
+        return legacyProcessor;
+    }
+
+    public void setLegacyProcessor( boolean legacyProcessor )
+    {
+        this.legacyProcessor = legacyProcessor;
+    }
+
+    public FileHeaderTransformer getTransformer()
+    {
+        return filter.getTransformer();
+    }
+
     public String getFileHeaderDescription()
     {
         return filter.getFileHeader().getDescription();
@@ -132,6 +197,11 @@ public class FileHeaderProcessor extends Processor
 
     public void updateDescription( String description )
     {
+        if ( description != null && description.equals( filter.getFileHeader().getDescription() ) )
+        {
+            // keep the header contents built for the previous file
+            return;
+        }
         filter.getFileHeader().setDescription( description );
         filter.resetContent();
     }
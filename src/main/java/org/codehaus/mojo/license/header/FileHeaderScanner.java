@@ -0,0 +1,119 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+/**
+ * Finds the header of a content between the process start and end tags with {@link String#indexOf(String, int)},
+ * and gives the content with its header filtered by a {@link FileHeaderFilter}.
+ * <p>
+ * The result, and the state of the filter, are the same as when the filter runs in the nuiton processor: lines end
+ * with the platform line separator, each header found is given to the filter without its process tags, and a start
+ * tag without end tag leaves the rest of the content unchanged.
+ */
+class FileHeaderScanner
+{
+
+    private static final String LINE_SEPARATOR = System.getProperty( "line.separator" );
+
+    /**
+     * filter of the headers found.
+     */
+    private final FileHeaderFilter filter;
+
+    FileHeaderScanner( FileHeaderFilter filter )
+    {
+        this.filter = filter;
+    }
+
+    /**
+     * @param content content of the file
+     * @return the content with its header filtered
+     * @throws IllegalStateException if the content has more than one header
+     */
+    String process( String content )
+    {
+        String text = normalizeLineSeparators( content );
+        String startTag = filter.getHeader();
+        String endTag = filter.getFooter();
+
+        StringBuilder result = new StringBuilder( text.length() + 256 );
+        int position = 0;
+        while ( true )
+        {
+            int start = text.indexOf( startTag, position );
+            if ( start == -1 )
+            {
+                result.append( text, position, text.length() );
+                break;
+            }
+            result.append( text, position, start );
+            filter.detectHeader = true;
+
+            // the end tag is searched from the start tag itself, as the nuiton processor does
+            int end = text.indexOf( endTag, start );
+            if ( end == -1 )
+            {
+                // no end tag: the filter keeps the text as it is, or rejects it after a first header
+                result.append( filter.performInFilter( text.substring( start ) ) );
+                break;
+            }
+            result.append( filter.performInFilter( text.substring( start + startTag.length(), end ) ) );
+            position = end + endTag.length();
+        }
+        return result.toString();
+    }
+
+    /**
+     * Ends each line of the content with the platform line separator, lines being split as
+     * {@link java.io.BufferedReader#readLine()} does.
+     *
+     * @param content a content
+     * @return the content with normalized line separators
+     */
+    static String normalizeLineSeparators( String content )
+    {
+        int length = content.length();
+        if ( "\n".equals( LINE_SEPARATOR ) && content.indexOf( '\r' ) == -1 )
+        {
+            return length == 0 || content.charAt( length - 1 ) == '\n' ? content : content + LINE_SEPARATOR;
+        }
+        StringBuilder result = new StringBuilder( length + 16 );
+        int lineStart = 0;
+        while ( lineStart < length )
+        {
+            int lineEnd = lineStart;
+            char c = 0;
+            while ( lineEnd < length && ( c = content.charAt( lineEnd ) ) != '\n' && c != '\r' )
+            {
+                lineEnd++;
+            }
+            result.append( content, lineStart, lineEnd ).append( LINE_SEPARATOR );
+            if ( c == '\r' && lineEnd + 1 < length && content.charAt( lineEnd + 1 ) == '\n' )
+            {
+                lineEnd++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return result.toString();
+    }
+}
@@ -69,6 +69,11 @@ public abstract class AbstractFileHeaderTransformer
      */
     private String sectionDelimiter = DEFAULT_SECTION_DELIMITER;
 
+    /**
+     * last license text compared, without spaces (see {@link #isLicenseEquals(FileHeader, FileHeader)}).
+     */
+    private volatile NormalizedLicense normalizedLicense;
+
     /**
      * start process tag.
      */
@@ -248,20 +253,48 @@ public abstract class AbstractFileHeaderTransformer
      * {@inheritDoc}
      */
     public String addHeader( String header, String content )
+    {
+        return getHeaderInsertion( header, content ).apply( content );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public HeaderInsertion getHeaderInsertion( String header, String content )
+    {
+        return newHeaderInsertion( 0, 0, header, content );
+    }
+
+    /**
+     * Builds the insertion of a header (preceded by a prolog if any) replacing the given part of the content, with
+     * an empty line after the header if required and the rest of the content does not start with an empty line.
+     *
+     * @param start   index of the first replaced character of the content
+     * @param end     index of the first character of the content kept after the header
+     * @param header  text to insert
+     * @param content content of original file
+     * @return the insertion
+     */
+    protected HeaderInsertion newHeaderInsertion( int start, int end, String header, String content )
     {
         if ( isEmptyLineAfterHeader() )
         {
-            String[] contentSplit = content.split( "\\r?\\n", 2 );
-            if ( contentSplit.length > 0 )
+            // first line of the rest of the content
+            int endOfLine = content.indexOf( '\n', end );
+            if ( endOfLine == -1 )
             {
-                final String line = contentSplit[0].trim();
-                if ( line.length() > 0 )
-                {
-                    return header + LINE_SEPARATOR + content;
-                }
+                endOfLine = content.length();
+            }
+            else if ( endOfLine > end && content.charAt( endOfLine - 1 ) == '\r' )
+            {
+                endOfLine--;
+            }
+            if ( content.substring( end, endOfLine ).trim().length() > 0 )
+            {
+                return new HeaderInsertion( start, end, header + LINE_SEPARATOR );
             }
         }
-        return header + content;
+        return new HeaderInsertion( start, end, header );
     }
 
     /**
@@ -295,18 +328,23 @@ public abstract class AbstractFileHeaderTransformer
     {
         FileHeader model = new FileHeader();
 
-        String[] sections = header.split( getSectionDelimiter() );
-        if ( sections.length != 3 )
+        // sections are split as String#split does, the delimiter being matched literally
+        String delimiter = getSectionDelimiter();
+        int length = delimiter.length();
+        int first = length == 0 ? -1 : header.indexOf( delimiter );
+        int second = first == -1 ? -1 : header.indexOf( delimiter, first + length );
+        int end = second == -1 ? -1 : getLastSectionEnd( header, delimiter, second + length );
+        if ( end == -1 )
         {
             throw new IllegalStateException( "could not find 3 sections in\n" + header );
         }
 
         // first section is the description
-        String description = sections[0].trim();
+        String description = header.substring( 0, first ).trim();
         model.setDescription( description );
 
         // second section is the copyright
-        String copyrightModel = sections[1].trim();
+        String copyrightModel = header.substring( first + length, second ).trim();
         Matcher matcher = COPYRIGHT_PATTERN.matcher( copyrightModel );
         if ( !matcher.matches() )
         {
@@ -321,11 +359,41 @@ public abstract class AbstractFileHeaderTransformer
         model.setCopyright( copyright1 );
 
         // third section is the license
-        String license = sections[2].trim();
+        String license = header.substring( second + length, end ).trim();
         model.setLicense( license );
         return model;
     }
 
+    /**
+     * @param header    header with sections
+     * @param delimiter section delimiter
+     * @param start     start of the third section
+     * @return end of the third section, or {@code -1} if the third section is empty or is followed by another
+     * non empty section
+     */
+    private static int getLastSectionEnd( String header, String delimiter, int start )
+    {
+        int end = header.indexOf( delimiter, start );
+        if ( end == -1 )
+        {
+            end = header.length();
+        }
+        else
+        {
+            // only trailing delimiters (empty sections) can follow
+            int index = end;
+            while ( header.startsWith( delimiter, index ) )
+            {
+                index += delimiter.length();
+            }
+            if ( index != header.length() )
+            {
+                return -1;
+            }
+        }
+        return end == start ? -1 : end;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -389,11 +457,35 @@ public abstract class AbstractFileHeaderTransformer
         {
             buffer.append( getCommentStartTag() ).append( LINE_SEPARATOR );
         }
-        for ( String line : header.split( "\\r?\\n" ) )
+        // lines are split on \n or \r\n, trailing empty lines are dropped (as String#split does)
+        int end = header.length();
+        boolean multiLine = header.indexOf( '\n' ) != -1;
+        while ( end > 0 && header.charAt( end - 1 ) == '\n' )
         {
+            end--;
+            if ( end > 0 && header.charAt( end - 1 ) == '\r' )
+            {
+                end--;
+            }
+        }
+        int start = 0;
+        while ( start <= end && ( end > 0 || !multiLine ) )
+        {
+            int lineEnd = header.indexOf( '\n', start );
+            int next = lineEnd + 1;
+            if ( lineEnd == -1 || lineEnd > end )
+            {
+                lineEnd = end;
+                next = end + 1;
+            }
+            else if ( lineEnd > start && header.charAt( lineEnd - 1 ) == '\r' )
+            {
+                lineEnd--;
+            }
             buffer.append( getCommentLinePrefix() );
-            buffer.append( line );
+            buffer.append( header, start, lineEnd );
             buffer.append( LINE_SEPARATOR );
+            start = next;
         }
         if ( withTags )
         {
@@ -409,8 +501,16 @@ public abstract class AbstractFileHeaderTransformer
     {
         StringBuilder buffer = new StringBuilder();
         int prefixLength = getCommentLinePrefix().length();
-        for ( String line : header.split( LINE_SEPARATOR + "" ) )
+        int start = 0;
+        while ( start < header.length() )
         {
+            int end = header.indexOf( LINE_SEPARATOR, start );
+            if ( end == -1 )
+            {
+                end = header.length();
+            }
+            String line = header.substring( start, end );
+            start = end + LINE_SEPARATOR.length();
             if ( StringUtils.isEmpty( line ) || line.contains( getCommentStartTag() ) ||
                 line.contains( getCommentEndTag() ) )
             {
@@ -460,8 +560,16 @@ public abstract class AbstractFileHeaderTransformer
     public String unboxProcessTag( String boxedHeader )
     {
         StringBuilder buffer = new StringBuilder();
-        for ( String line : boxedHeader.split( LINE_SEPARATOR + "" ) )
+        int start = 0;
+        while ( start < boxedHeader.length() )
         {
+            int end = boxedHeader.indexOf( LINE_SEPARATOR, start );
+            if ( end == -1 )
+            {
+                end = boxedHeader.length();
+            }
+            String line = boxedHeader.substring( start, end );
+            start = end + LINE_SEPARATOR.length();
             if ( StringUtils.isEmpty( line ) || line.contains( getProcessStartTag() ) ||
                 line.contains( getProcessEndTag() ) )
             {
@@ -495,25 +603,70 @@ public abstract class AbstractFileHeaderTransformer
      */
     public boolean isLicenseEquals( FileHeader header1, FileHeader header2 )
     {
+        NormalizedLicense license2 = getNormalizedLicense( header2.getLicense() );
         String license1 = removeSpaces( header1.getLicense() );
-        String license2 = removeSpaces( header2.getLicense() );
-        return license1.equals( license2 );
+        return license1.hashCode() == license2.hash && license1.equals( license2.text );
     }
 
-    private static final Pattern REMOVE_SPACE_PATTERN = Pattern.compile( "(\\s+)" );
+    /**
+     * @param license a license text, usually the configured one
+     * @return the license text without spaces, kept for the next calls with the same license
+     */
+    private NormalizedLicense getNormalizedLicense( String license )
+    {
+        NormalizedLicense result = normalizedLicense;
+        if ( result == null || result.license != license )
+        {
+            result = new NormalizedLicense( license, removeSpaces( license ) );
+            normalizedLicense = result;
+        }
+        return result;
+    }
 
-    private String removeSpaces( String str )
+    /**
+     * Removes the characters matched by {@code \s} in a regular expression.
+     *
+     * @param str a text
+     * @return the text without spaces
+     */
+    private static String removeSpaces( String str )
     {
-        Matcher matcher = REMOVE_SPACE_PATTERN.matcher( str );
-        String result;
-        if ( matcher.find() )
+        StringBuilder result = null;
+        int length = str.length();
+        for ( int i = 0; i < length; i++ )
         {
-            result = matcher.replaceAll( "" );
+            char c = str.charAt( i );
+            boolean space = c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if ( space && result == null )
+            {
+                result = new StringBuilder( length );
+                result.append( str, 0, i );
+            }
+            else if ( !space && result != null )
+            {
+                result.append( c );
+            }
         }
-        else
+        return result == null ? str : result.toString();
+    }
+
+    /**
+     * License text without spaces, with its hash.
+     */
+    private static final class NormalizedLicense
+    {
+
+        private final String license;
+
+        private final String text;
+
+        private final int hash;
+
+        NormalizedLicense( String license, String text )
         {
-            result = str;
+            this.license = license;
+            this.text = text;
+            this.hash = text.hashCode();
         }
-        return result;
     }
 }
@@ -148,6 +148,16 @@ public interface FileHeaderTransformer
      */
     String addHeader( String header, String content );
 
+    /**
+     * Gets where and how {@link #addHeader(String, String)} changes the content, so the unchanged rest of the file
+     * can be copied as it is.
+     *
+     * @param header  header to add
+     * @param content content of original file
+     * @return the change giving the result of {@link #addHeader(String, String)}
+     */
+    HeaderInsertion getHeaderInsertion( String header, String content );
+
     /**
      * Box the given {@code header} in a comment.
      *
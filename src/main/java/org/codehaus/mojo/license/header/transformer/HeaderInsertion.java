@@ -0,0 +1,79 @@
+package org.codehaus.mojo.license.header.transformer;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+/**
+ * Change made to the content of a file to add a header: the characters from {@link #getStart()} to
+ * {@link #getEnd()} (excluded) are replaced by {@link #getText()}, the rest of the content is unchanged.
+ *
+ * @see FileHeaderTransformer#getHeaderInsertion(String, String)
+ */
+public class HeaderInsertion
+{
+
+    private final int start;
+
+    private final int end;
+
+    private final String text;
+
+    public HeaderInsertion( int start, int end, String text )
+    {
+        this.start = start;
+        this.end = end;
+        this.text = text;
+    }
+
+    /**
+     * @return index of the first replaced character of the content
+     */
+    public int getStart()
+    {
+        return start;
+    }
+
+    /**
+     * @return index of the first character of the content kept after the inserted text
+     */
+    public int getEnd()
+    {
+        return end;
+    }
+
+    /**
+     * @return inserted text, with the header
+     */
+    public String getText()
+    {
+        return text;
+    }
+
+    /**
+     * @param content content of the file
+     * @return the new content of the file
+     */
+    public String apply( String content )
+    {
+        return content.substring( 0, start ) + text + content.substring( end );
+    }
+}
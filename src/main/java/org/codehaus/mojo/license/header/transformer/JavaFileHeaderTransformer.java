@@ -101,17 +101,14 @@ public class JavaFileHeaderTransformer
      * {@inheritDoc}
      */
     @Override
-    public String addHeader( String header, String content )
+    public HeaderInsertion getHeaderInsertion( String header, String content )
     {
 
         if ( !addJavaLicenseAfterPackage )
         {
-            return super.addHeader( header, content );
+            return super.getHeaderInsertion( header, content );
         }
 
-        String result;
-
-        String prolog = null;
         int startProlog = content.indexOf( "package" );
         if ( startProlog > -1 )
         {
@@ -122,40 +119,15 @@ public class JavaFileHeaderTransformer
             if ( endProlog > -1 )
             {
 
-                // prolog end was detected
-
+                // prolog end was detected, the header goes after the line separator following the package
                 int lastIndex = endProlog + 1;
-
-                prolog = content.substring( 0, lastIndex );
-
-                // prolog goes to next line
-                prolog += LINE_SEPARATOR;
-
-                if ( lastIndex == content.length() )
-                {
-
-                    // adding a new empty end line to the content
-                    content += LINE_SEPARATOR;
-                }
-
-
+                int end = Math.min( lastIndex + LINE_SEPARATOR.length(), content.length() );
+                return newHeaderInsertion( lastIndex, end, LINE_SEPARATOR + LINE_SEPARATOR + header, content );
             }
         }
 
-        if ( prolog == null )
-        {
-
-            // no prolog detected
-            result = super.addHeader( header, content );
-        }
-        else
-        {
-
-            // prolog detected
-            content = content.substring( prolog.length() );
-            result = super.addHeader( prolog + LINE_SEPARATOR + header, content );
-        }
-        return result;
+        // no prolog detected
+        return super.getHeaderInsertion( header, content );
     }
 
 }
@@ -55,12 +55,9 @@ public class PropertiesFileHeaderTransformer
      * {@inheritDoc}
      */
     @Override
-    public String addHeader( String header, String content )
+    public HeaderInsertion getHeaderInsertion( String header, String content )
     {
 
-        String result;
-
-        String prolog = null;
         int startProlog = content.indexOf( "#!" );
         if ( startProlog > -1 )
         {
@@ -73,23 +70,12 @@ public class PropertiesFileHeaderTransformer
             {
 
                 // prolog end was detected
-                prolog = content.substring( 0, endProlog + LINE_SEPARATOR.length() );
+                int end = endProlog + LINE_SEPARATOR.length();
+                return newHeaderInsertion( end, end, LINE_SEPARATOR + header, content );
             }
         }
 
-        if ( prolog == null )
-        {
-
-            // no shebang detected
-            result = super.addHeader( header, content );
-        }
-        else
-        {
-
-            // shebang detected
-            content = content.substring( prolog.length() );
-            result = super.addHeader( prolog + LINE_SEPARATOR + header, content );
-        }
-        return result;
+        // no shebang detected
+        return super.getHeaderInsertion( header, content );
     }
 }
@@ -56,12 +56,9 @@ public class XmlFileHeaderTransformer
      * {@inheritDoc}
      */
     @Override
-    public String addHeader( String header, String content )
+    public HeaderInsertion getHeaderInsertion( String header, String content )
     {
 
-        String result;
-
-        String prolog = null;
         int startProlog = content.indexOf( "<?xml" );
         if ( startProlog > -1 )
         {
@@ -73,23 +70,12 @@ public class XmlFileHeaderTransformer
             {
 
                 // prolog end was detected
-                prolog = content.substring( 0, endProlog + 2 );
+                int end = endProlog + 2;
+                return newHeaderInsertion( end, end, LINE_SEPARATOR + header, content );
             }
         }
 
-        if ( prolog == null )
-        {
-
-            // no prolog detected
-            result = super.addHeader( header, content );
-        }
-        else
-        {
-
-            // prolog detected
-            content = content.substring( prolog.length() );
-            result = super.addHeader( prolog + LINE_SEPARATOR + header, content );
-        }
-        return result;
+        // no prolog detected
+        return super.getHeaderInsertion( header, content );
     }
 }
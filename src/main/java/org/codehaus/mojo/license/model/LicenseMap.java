@@ -26,10 +26,9 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.mojo.license.utils.MojoHelper;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -39,26 +38,55 @@ import java.util.TreeSet;
 
 /**
  * Map of artifacts (stub in mavenproject) group by their license.
+ * <p>
+ * The map also maintains the reverse index (licenses of each project), so {@link #removeProject(MavenProject)} and
+ * {@link #toDependencyMap()} do not have to scan every license. Projects are only added and removed through the
+ * methods of the map, the sets and views it returns are read-only.
  *
  * @author tchemit dev@tchemit.fr
  * @since 1.0
  */
 public class LicenseMap
-    extends TreeMap<String, SortedSet<MavenProject>>
 {
 
-    private static final long serialVersionUID = 864199843545688069L;
-
     public static final String UNKNOWN_LICENSE_MESSAGE = "Unknown license";
 
     private final Comparator<MavenProject> projectComparator;
 
+    /**
+     * Order of the projects of a license.
+     */
+    private final Comparator<MavenProject> projectOrder;
+
+    /**
+     * Projects of each license.
+     */
+    private final SortedMap<String, SortedSet<MavenProject>> projectsByLicense =
+        new TreeMap<String, SortedSet<MavenProject>>();
+
+    /**
+     * Read-only views of the projects of each license.
+     */
+    private final SortedMap<String, SortedSet<MavenProject>> views = new TreeMap<String, SortedSet<MavenProject>>();
+
+    /**
+     * Licenses of each project registered in the map.
+     */
+    private final SortedMap<MavenProject, SortedSet<String>> licensesByProject;
+
     /**
      * Default contructor.
      */
     public LicenseMap()
+    {
+        this( MojoHelper.newMavenProjectComparator() );
+    }
+
+    private LicenseMap( Comparator<MavenProject> projectOrder )
     {
         projectComparator = MojoHelper.newMavenProjectComparator();
+        this.projectOrder = projectOrder;
+        licensesByProject = new TreeMap<MavenProject, SortedSet<String>>( projectComparator );
     }
 
     /**
@@ -70,17 +98,32 @@ public class LicenseMap
      */
     public SortedSet<MavenProject> put( String key, MavenProject value )
     {
-
-        // handle multiple values as a set to avoid duplicates
-        SortedSet<MavenProject> valueList = get( key );
-        if ( valueList == null )
+        if ( projects( key ).add( value ) )
         {
-
-            valueList = new TreeSet<MavenProject>( projectComparator );
+            SortedSet<String> licenses = licensesByProject.get( value );
+            if ( licenses == null )
+            {
+                licenses = new TreeSet<String>();
+                licensesByProject.put( value, licenses );
+            }
+            licenses.add( key );
         }
+        return views.get( key );
+    }
 
-        valueList.add( value );
-        return put( key, valueList );
+    /**
+     * Store in the license map some projects to a given license.
+     *
+     * @param key    the license on which to associate the given projects
+     * @param values projects to register in the license map
+     */
+    public void putAll( String key, Collection<MavenProject> values )
+    {
+        projects( key );
+        for ( MavenProject value : values )
+        {
+            put( key, value );
+        }
     }
 
     /**
@@ -88,24 +131,90 @@ public class LicenseMap
      *
      * @param licenseMap license map to put
      */
-    public void putAll( LicenseMap licenseMap)
+    public void putAll( LicenseMap licenseMap )
     {
-        for (Map.Entry<String, SortedSet<MavenProject>> entry : licenseMap.entrySet()) {
+        for ( Map.Entry<String, SortedSet<MavenProject>> entry : licenseMap.entrySet() )
+        {
+            putAll( entry.getKey(), entry.getValue() );
+        }
+    }
 
-            String key = entry.getKey();
+    /**
+     * @param key the license
+     * @return the read-only projects of the license, or {@code null} if the license is not in the map
+     */
+    public SortedSet<MavenProject> get( String key )
+    {
+        return views.get( key );
+    }
 
-            // handle multiple values as a set to avoid duplicates
-            SortedSet<MavenProject> valueList = get( key );
-            if ( valueList == null )
-            {
+    public boolean containsKey( String key )
+    {
+        return views.containsKey( key );
+    }
 
-                valueList = new TreeSet<MavenProject>( projectComparator );
-            }
+    /**
+     * @return the read-only licenses of the map
+     */
+    public Set<String> keySet()
+    {
+        return Collections.unmodifiableSet( views.keySet() );
+    }
+
+    /**
+     * @return the read-only entries of the map, with the read-only projects of each license
+     */
+    public Set<Map.Entry<String, SortedSet<MavenProject>>> entrySet()
+    {
+        return Collections.unmodifiableMap( views ).entrySet();
+    }
+
+    public int size()
+    {
+        return views.size();
+    }
+
+    public boolean isEmpty()
+    {
+        return views.isEmpty();
+    }
 
-            valueList.addAll( entry.getValue() );
-            put( key, valueList );
+    /**
+     * Remove a license and all its projects from the map.
+     *
+     * @param key the license to remove
+     * @return the read-only projects of the removed license, or {@code null}
+     */
+    public SortedSet<MavenProject> remove( String key )
+    {
+        SortedSet<MavenProject> projects = projectsByLicense.remove( key );
+        if ( projects == null )
+        {
+            return null;
         }
+        for ( MavenProject project : projects )
+        {
+            unindex( project, key );
+        }
+        return views.remove( key );
+    }
 
+    /**
+     * Remove a project from a license, the license stays in the map even if it has no more projects.
+     *
+     * @param key     the license
+     * @param project the project to remove
+     * @return {@code true} if the project was registered for the license
+     */
+    public boolean remove( String key, MavenProject project )
+    {
+        SortedSet<MavenProject> projects = projectsByLicense.get( key );
+        if ( projects == null || !projects.remove( project ) )
+        {
+            return false;
+        }
+        unindex( project, key );
+        return true;
     }
 
     /**
@@ -116,72 +225,70 @@ public class LicenseMap
      */
     public SortedMap<MavenProject, String[]> toDependencyMap()
     {
-        SortedMap<MavenProject, Set<String>> tmp = new TreeMap<MavenProject, Set<String>>( projectComparator );
-
-        for ( Map.Entry<String, SortedSet<MavenProject>> entry : entrySet() )
-        {
-            String license = entry.getKey();
-            SortedSet<MavenProject> set = entry.getValue();
-            for ( MavenProject p : set )
-            {
-                Set<String> list = tmp.get( p );
-                if ( list == null )
-                {
-                    list = new HashSet<String>();
-                    tmp.put( p, list );
-                }
-                list.add( license );
-            }
-        }
-
         SortedMap<MavenProject, String[]> result = new TreeMap<MavenProject, String[]>( projectComparator );
-        for ( Map.Entry<MavenProject, Set<String>> entry : tmp.entrySet() )
+        for ( Map.Entry<MavenProject, SortedSet<String>> entry : licensesByProject.entrySet() )
         {
-            List<String> value = new ArrayList<String>( entry.getValue() );
-            Collections.sort( value );
-            result.put( entry.getKey(), value.toArray( new String[value.size()] ) );
+            SortedSet<String> licenses = entry.getValue();
+            result.put( entry.getKey(), licenses.toArray( new String[licenses.size()] ) );
         }
-        tmp.clear();
         return result;
     }
 
     public LicenseMap toLicenseMapOrderByName()
     {
-        LicenseMap result = new LicenseMap();
+        LicenseMap result = new LicenseMap( MojoHelper.newMavenProjectComparatorByName() );
+        result.putAll( this );
+        return result;
+    }
 
-        Comparator<MavenProject> mavenProjectComparator = MojoHelper.newMavenProjectComparatorByName();
-        for ( Map.Entry<String, SortedSet<MavenProject>> entry : entrySet() )
+    public void removeProject( MavenProject project )
+    {
+        SortedSet<String> licenses = licensesByProject.get( project );
+        if ( licenses == null )
         {
-            String licenseKey = entry.getKey();
-            SortedSet<MavenProject> projects =
-                new TreeSet<MavenProject>( mavenProjectComparator );
-            projects.addAll( entry.getValue() );
-            result.put( licenseKey, projects );
+            return;
+        }
+        for ( String license : new ArrayList<String>( licenses ) )
+        {
+            remove( license, project );
         }
-        return result;
     }
 
-    public void removeProject( MavenProject project )
+    public void removeEmptyLicenses()
     {
-        for ( Map.Entry<String, SortedSet<MavenProject>> entry : entrySet() )
+        for ( String key : new ArrayList<String>( views.keySet() ) )
         {
-            SortedSet<MavenProject> projects = entry.getValue();
-            for ( MavenProject mavenProject : projects )
+            if ( projectsByLicense.get( key ).isEmpty() )
             {
-                if (project.equals( mavenProject )) {
-                    get(entry.getKey()).remove( project);
-                    break;
-                }
+                remove( key );
             }
         }
     }
 
-    public void removeEmptyLicenses() {
-        Set<String> keys = new HashSet<>(keySet());
-        for (String key : keys) {
-            if (get(key).isEmpty()) {
-                remove(key);
-            }
+    @Override
+    public String toString()
+    {
+        return projectsByLicense.toString();
+    }
+
+    private SortedSet<MavenProject> projects( String license )
+    {
+        SortedSet<MavenProject> projects = projectsByLicense.get( license );
+        if ( projects == null )
+        {
+            projects = new TreeSet<MavenProject>( projectOrder );
+            projectsByLicense.put( license, projects );
+            views.put( license, Collections.unmodifiableSortedSet( projects ) );
+        }
+        return projects;
+    }
+
+    private void unindex( MavenProject project, String license )
+    {
+        SortedSet<String> licenses = licensesByProject.get( project );
+        if ( licenses != null && licenses.remove( license ) && licenses.isEmpty() )
+        {
+            licensesByProject.remove( project );
         }
     }
 }
@@ -5,13 +5,20 @@ import edu.emory.mathcs.backport.java.util.Collections;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.fluent.Executor;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.client.fluent.Response;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.model.License;
+import org.codehaus.mojo.license.LicenseProcessor;
+import org.codehaus.mojo.license.utils.ParallelLookup;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.*;
 
@@ -19,57 +26,103 @@ import java.util.*;
  * Created
  * on 31.01.2018.
  */
-public class SonatypeServiceLicenseProcessor {
+public class SonatypeServiceLicenseProcessor implements LicenseProcessor, Closeable {
 
     private static final List<String> IGNORED_LICENSES = Collections.unmodifiableList(Arrays.asList("Not-Declared", "Not Declared", "UNSPECIFIED", "No-Sources", "No Sources"));
 
     private Log log;
     private String proxyUrl;
 
+    /**
+     * Pooled client shared by all lookups of this processor, sized to the number of concurrent lookups.
+     */
+    private final CloseableHttpClient httpClient;
+    private final Executor executor;
+    private final int maxConnections;
+
 //    private final String proxyHost = "proxy";
 //    private final int proxyPort = 800;
 
     public SonatypeServiceLicenseProcessor(Log log, String proxyUrl) {
+        this(log, proxyUrl, 1);
+    }
+
+    public SonatypeServiceLicenseProcessor(Log log, String proxyUrl, int maxConnections) {
         this.log = log;
         this.proxyUrl = proxyUrl;
+        this.maxConnections = Math.max(1, maxConnections);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(this.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(this.maxConnections);
+        this.httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+        this.executor = Executor.newInstance(httpClient);
     }
 
     public Log getLog() {
         return log;
     }
 
+    /**
+     * Looks up licenses of all given projects, using up to the configured number of connections at once.
+     */
+    @Override
+    public Map<MavenProject, List<License>> getLicensesByProjects(Collection<MavenProject> depMavenProjects) {
+        Map<MavenProject, List<License>> result =
+                ParallelLookup.lookup(depMavenProjects, maxConnections, "sonatype-lookup", this::lookupLicenses);
+        // failed lookups are left out
+        result.values().removeIf(Objects::isNull);
+        return result;
+    }
+
+    @Override
+    public List<License> getLicensesByProject(MavenProject project) {
+        return getLicencesByProject(project);
+    }
+
     public List<License> getLicencesByProject(MavenProject depMavenProject) {
+        List<License> licenses = lookupLicenses(depMavenProject);
+        return licenses == null ? Collections.<License>emptyList() : licenses;
+    }
+
+    /**
+     * @return licenses of the project, {@code null} if the lookup failed
+     */
+    private List<License> lookupLicenses(MavenProject depMavenProject) {
         try {
-            String url = getUrl(depMavenProject);
-            getLog().info("Executing " + url);
-            Request request = request(url);
-            if (this.proxyUrl != null) {
-                request = request.viaProxy(proxyUrl);
-            }
-            Response response = request.execute();
-            HttpResponse httpResponse = response.returnResponse();
-            int statusCode = httpResponse.getStatusLine().getStatusCode();
-            if (statusCode == HttpStatus.SC_OK) {
-                String responseStr = EntityUtils.toString(httpResponse.getEntity());
-                System.out.println(responseStr);
-                List<License> mavenLicenses = getLicensesFromJSON(responseStr);
-                if (mavenLicenses.isEmpty()) {
-                    getLog().info("No licenses found in Nexus for " + toString(depMavenProject) + " in Nexus" );
-                } else {
-                    getLog().info("Nexus licenses found for " + toString(depMavenProject) + ": " + toString(mavenLicenses));
-                }
-
-                return mavenLicenses;
-            } else if (statusCode == HttpStatus.SC_NOT_FOUND) {
-                getLog().info("license for " + toString(depMavenProject) + ":" + depMavenProject.getVersion() + " is not found in Nexus");
-            } else {
-                getLog().error("Unknown status code for " + toString(depMavenProject) +  " : " + statusCode);
-            }
+            return resolveLicenses(depMavenProject);
         } catch (IOException e) {
             getLog().error(e.getMessage());
-            e.printStackTrace();
+            return null;
         }
-        return Collections.<License>emptyList();
+    }
+
+    @Override
+    public List<License> resolveLicenses(MavenProject depMavenProject) throws IOException {
+        String url = getUrl(depMavenProject);
+        getLog().info("Executing " + url);
+        Request request = request(url);
+        if (this.proxyUrl != null) {
+            request = request.viaProxy(proxyUrl);
+        }
+        Response response = executor.execute(request);
+        HttpResponse httpResponse = response.returnResponse();
+        int statusCode = httpResponse.getStatusLine().getStatusCode();
+        if (statusCode == HttpStatus.SC_OK) {
+            String responseStr = EntityUtils.toString(httpResponse.getEntity());
+            getLog().debug(responseStr);
+            List<License> mavenLicenses = getLicensesFromJSON(responseStr);
+            if (mavenLicenses.isEmpty()) {
+                getLog().info("No licenses found in Nexus for " + toString(depMavenProject) + " in Nexus" );
+            } else {
+                getLog().info("Nexus licenses found for " + toString(depMavenProject) + ": " + toString(mavenLicenses));
+            }
+
+            return mavenLicenses;
+        } else if (statusCode == HttpStatus.SC_NOT_FOUND) {
+            getLog().info("license for " + toString(depMavenProject) + ":" + depMavenProject.getVersion() + " is not found in Nexus");
+            return Collections.<License>emptyList();
+        }
+        throw new IOException("Unknown status code for " + toString(depMavenProject) +  " : " + statusCode);
     }
 
     private String toString(List<License> mavenLicenses) {
@@ -141,6 +194,11 @@ public class SonatypeServiceLicenseProcessor {
         return mapper.readValue(data, ComponentInfo.class);
     }
 
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
 
 
     /*
@@ -38,6 +38,14 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -272,6 +280,92 @@ public class FileUtil
         }
     }
 
+    /**
+     * Writes to {@code target} the given {@code head} followed by the bytes of {@code source} coming after the
+     * first {@code end} characters of its {@code content}, which are copied as they are with
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}.
+     * <p>
+     * Nothing is written if the first characters of the content do not encode back to the first bytes of the
+     * source (malformed input, encoding writing a byte order mark, ...): the caller must then write the whole
+     * content itself.
+     *
+     * @param source   the original file
+     * @param content  the content of the original file, read with the given encoding
+     * @param end      number of characters of the content replaced by {@code head}
+     * @param head     the new beginning of the file
+     * @param target   the file to write to
+     * @param encoding the encoding of the file
+     * @return {@code true} if the file was written, {@code false} otherwise
+     * @throws IOException if IO pb
+     */
+    public static boolean spliceFile( File source, String content, int end, String head, File target,
+                                      String encoding )
+        throws IOException
+    {
+        Charset charset = Charset.forName( encoding );
+        if ( "aa".getBytes( charset ).length != 2 * "a".getBytes( charset ).length )
+        {
+            // stateful encoding (byte order mark), offsets of characters can not be computed from their prefix
+            return false;
+        }
+        byte[] prefix = content.substring( 0, end ).getBytes( charset );
+
+        createDirectoryIfNecessary( target.getParentFile() );
+
+        try ( FileChannel in = FileChannel.open( source.toPath(), StandardOpenOption.READ ) )
+        {
+            ByteBuffer originalPrefix = ByteBuffer.allocate( prefix.length );
+            while ( originalPrefix.hasRemaining() && in.read( originalPrefix ) != -1 )
+            {
+                // read until the buffer is full or the end of file is reached
+            }
+            if ( originalPrefix.hasRemaining() || !Arrays.equals( prefix, originalPrefix.array() ) )
+            {
+                return false;
+            }
+
+            try ( FileChannel out = FileChannel.open( target.toPath(), StandardOpenOption.WRITE,
+                                                      StandardOpenOption.CREATE,
+                                                      StandardOpenOption.TRUNCATE_EXISTING ) )
+            {
+                ByteBuffer headBytes = ByteBuffer.wrap( head.getBytes( charset ) );
+                while ( headBytes.hasRemaining() )
+                {
+                    out.write( headBytes );
+                }
+                long position = prefix.length;
+                long size = in.size();
+                while ( position < size )
+                {
+                    position += in.transferTo( position, size - position, out );
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces {@code destination} by {@code file}, with an atomic move when the file system supports it, so
+     * {@code destination} is never seen partially written.
+     *
+     * @param file        the file to move
+     * @param destination the replaced file
+     * @throws IOException if could not move the file
+     */
+    public static void replaceFile( File file, File destination )
+        throws IOException
+    {
+        try
+        {
+            Files.move( file.toPath(), destination.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING );
+        }
+        catch ( AtomicMoveNotSupportedException e )
+        {
+            Files.move( file.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
     public static List<File> orderFiles( Collection<File> files )
     {
         List<File> result = new ArrayList<File>( files );
@@ -0,0 +1,128 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Lists the files of a local git repository changed since a base ref, by running the local {@code git} binary.
+ * <p>
+ * git is run with a plain {@link ProcessBuilder}, so the output is read without going through a logger and the
+ * error output can be reported with the {@link IOException}.
+ */
+public final class GitChangedFiles {
+
+    private GitChangedFiles() {
+    }
+
+    /**
+     * Gets the files added, copied, modified or renamed since the merge base of {@code baseRef} and {@code HEAD},
+     * including the uncommitted changes and the untracked files (not ignored). Deleted files are not listed.
+     *
+     * @param directory a directory of the repository
+     * @param baseRef   base ref, for example {@code origin/main}
+     * @param log       logger
+     * @return the existing changed files
+     * @throws IOException if git could not be run or failed
+     */
+    public static Set<File> changedSince(File directory, String baseRef, Log log) throws IOException {
+        File topLevel = new File(firstLine(git(directory, "rev-parse", "--show-toplevel")));
+        String mergeBase = firstLine(git(topLevel, "merge-base", baseRef, "HEAD"));
+        if (log.isDebugEnabled()) {
+            log.debug("Merge base of " + baseRef + " and HEAD is " + mergeBase);
+        }
+
+        List<String> paths = new ArrayList<>();
+        paths.addAll(git(topLevel, "-c", "core.quotepath=off", "diff", "--name-only", "--diff-filter=ACMR",
+                mergeBase));
+        paths.addAll(git(topLevel, "-c", "core.quotepath=off", "ls-files", "--others", "--exclude-standard"));
+
+        Set<File> files = new LinkedHashSet<>();
+        for (String path : paths) {
+            File file = new File(topLevel, path);
+            if (file.isFile()) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Runs git in the given directory.
+     *
+     * @return the non empty lines of the standard output
+     */
+    private static List<String> git(File directory, String... arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(arguments));
+        return run(directory, command);
+    }
+
+    /**
+     * Runs a command in the given directory. The error output is read by another thread: a command filling the error
+     * pipe would otherwise block before closing its standard output.
+     *
+     * @return the non empty lines of the standard output
+     */
+    static List<String> run(File directory, List<String> command) throws IOException {
+        Process process = new ProcessBuilder(command).directory(directory).start();
+        process.getOutputStream().close();
+
+        FutureTask<List<String>> errors = new FutureTask<>(() -> readLines(process.getErrorStream()));
+        Thread errorReader = new Thread(errors, "license-git-stderr");
+        errorReader.setDaemon(true);
+        errorReader.start();
+
+        List<String> lines = readLines(process.getInputStream());
+        int exitCode;
+        List<String> errorLines;
+        try {
+            exitCode = process.waitFor();
+            errorLines = errors.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroy();
+            throw new IOException("Interrupted while running " + command, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to read the error output of " + command, e.getCause());
+        }
+        if (exitCode != 0) {
+            throw new IOException("Unable to execute " + command + " in " + directory + ": "
+                    + String.join("\n", errorLines));
+        }
+        return lines;
+    }
+
+    private static String firstLine(List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            throw new IOException("No output from git");
+        }
+        return lines.get(0);
+    }
+
+    private static List<String> readLines(InputStream in) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+}
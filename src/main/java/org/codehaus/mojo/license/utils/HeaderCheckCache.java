@@ -0,0 +1,244 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of the outcome of the header check of files, so files which did not change since the previous
+ * build are not checked again.
+ * <p>
+ * Each file is recorded with its size, last modification time and sha256, the fingerprint of its header (comment
+ * style and rendered description) and the outcome of its check. A file matches its entry if it has the same size and
+ * modification time, or the same content when only touched. The whole cache is discarded when its configuration
+ * fingerprint (plugin version and header configuration) changes.
+ * <p>
+ * Only the entries of the files checked by a build are saved. All methods are thread safe.
+ */
+public class HeaderCheckCache {
+
+    private static final String CONFIGURATION_KEY = "#configuration";
+
+    private final File file;
+    private final String configuration;
+    private final Log log;
+
+    /**
+     * Entries read from the cache file.
+     */
+    private final Map<String, Entry> previous = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * Entries of the files checked by this build.
+     */
+    private final Map<String, Entry> current = new ConcurrentHashMap<String, Entry>();
+
+    private HeaderCheckCache(File file, String configuration, Log log) {
+        this.file = file;
+        this.configuration = configuration;
+        this.log = log;
+    }
+
+    /**
+     * Loads a cache, empty if the cache file does not exist or was written for another configuration.
+     *
+     * @param file          cache file
+     * @param configuration description of the configuration the outcomes depend on
+     * @param log           logger
+     * @return the loaded cache
+     */
+    public static HeaderCheckCache load(File file, String configuration, Log log) {
+        HeaderCheckCache cache = new HeaderCheckCache(file, sha256(configuration), log);
+        if (!file.isFile()) {
+            return cache;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.debug("Ignore unreadable header check cache " + file + ": " + e.getMessage());
+            return cache;
+        }
+        if (!cache.configuration.equals(properties.getProperty(CONFIGURATION_KEY))) {
+            log.info("Header configuration changed, all files will be checked");
+            return cache;
+        }
+        for (String path : properties.stringPropertyNames()) {
+            Entry entry = Entry.parse(properties.getProperty(path));
+            if (entry != null) {
+                cache.previous.put(path, entry);
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * @param source      file to check
+     * @param fingerprint fingerprint of the header expected in the file
+     * @return the outcome of the previous check of the file, or {@code null} if it must be checked
+     */
+    public String get(File source, String fingerprint) {
+        String path = source.getAbsolutePath();
+        Entry entry = previous.get(path);
+        if (entry == null || !entry.fingerprint.equals(sha256(fingerprint))) {
+            return null;
+        }
+        long size = source.length();
+        long lastModified = source.lastModified();
+        if (entry.size != size) {
+            return null;
+        }
+        if (entry.lastModified != lastModified) {
+            // touched only?
+            String hash = hash(source);
+            if (!entry.hash.equals(hash)) {
+                return null;
+            }
+            entry = new Entry(size, lastModified, hash, entry.fingerprint, entry.outcome);
+        }
+        current.put(path, entry);
+        return entry.outcome;
+    }
+
+    /**
+     * Records the outcome of the check of a file.
+     *
+     * @param source      checked file
+     * @param fingerprint fingerprint of the header expected in the file
+     * @param outcome     outcome of the check
+     */
+    public void put(File source, String fingerprint, String outcome) {
+        long size = source.length();
+        long lastModified = source.lastModified();
+        String hash = hash(source);
+        if (hash != null) {
+            current.put(source.getAbsolutePath(),
+                    new Entry(size, lastModified, hash, sha256(fingerprint), outcome));
+        }
+    }
+
+    /**
+     * Writes the entries of the files checked by this build.
+     */
+    public void save() {
+        Properties properties = new Properties();
+        properties.setProperty(CONFIGURATION_KEY, configuration);
+        for (Map.Entry<String, Entry> entry : current.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        File tmp = null;
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            Files.createDirectories(directory.toPath());
+            tmp = File.createTempFile(file.getName(), ".tmp", directory);
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write header check cache " + file + ": " + e.getMessage());
+            if (tmp != null && tmp.exists() && !tmp.delete()) {
+                tmp.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * @return sha256 of the content of the file, or {@code null} if it could not be read
+     */
+    private String hash(File source) {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new FileInputStream(source)) {
+            byte[] buf = new byte[8192];
+            int len;
+            while ((len = in.read(buf)) > 0) {
+                digest.update(buf, 0, len);
+            }
+        } catch (IOException e) {
+            log.debug("Could not hash " + source + ": " + e.getMessage());
+            return null;
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String sha256(String text) {
+        return toHex(newDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Recorded check of a file.
+     */
+    private static final class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+        private final String fingerprint;
+        private final String outcome;
+
+        Entry(long size, long lastModified, String hash, String fingerprint, String outcome) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.fingerprint = fingerprint;
+            this.outcome = outcome;
+        }
+
+        /**
+         * @return the entry written by {@link #toString()}, or {@code null} if malformed
+         */
+        static Entry parse(String value) {
+            String[] fields = value.split(",");
+            if (fields.length != 5) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2], fields[3],
+                        fields[4]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return size + "," + lastModified + "," + hash + "," + fingerprint + "," + outcome;
+        }
+    }
+}
@@ -22,34 +22,112 @@ package org.codehaus.mojo.license.utils;
  * #L%
  */
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.client.fluent.Response;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.*;
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
 /**
  * Utilities for downloading remote license files.
+ * <p>
+ * All downloads of a downloader share a pool of keep-alive connections, so a downloader can be used by several
+ * threads at once and must be closed once done.
  *
  * @author pgier
  * @since 1.0
  */
 public class LicenseDownloader
+    implements Closeable
 {
-    private String proxyUrl;
     /**
      * Defines the connection timeout in milliseconds when attempting to download license files.
      */
     public static final int DEFAULT_CONNECTION_TIMEOUT = 5000;
 
-    public LicenseDownloader(String proxyAddr) {
-            this.proxyUrl = proxyAddr;
+    /**
+     * Maximum number of redirects followed to download a license file.
+     */
+    public static final int MAX_REDIRECTS = 10;
+
+    private final CloseableHttpClient httpClient;
+
+    private final LicenseTextStore textStore;
+
+    /**
+     * @param proxyAddr          url of the proxy to use, or {@code null} to connect directly
+     * @param proxyLoginPassword value of the {@code Proxy-Authorization} header, or {@code null}
+     * @param maxConnections     maximum number of concurrent downloads
+     * @throws MalformedURLException if the proxy url is malformed
+     */
+    public LicenseDownloader( String proxyAddr, String proxyLoginPassword, int maxConnections )
+        throws MalformedURLException
+    {
+        this( proxyAddr, proxyLoginPassword, maxConnections, null );
+    }
+
+    /**
+     * @param proxyAddr          url of the proxy to use, or {@code null} to connect directly
+     * @param proxyLoginPassword value of the {@code Proxy-Authorization} header, or {@code null}
+     * @param maxConnections     maximum number of concurrent downloads
+     * @param textStore          store of license texts, revalidated by conditional requests instead of downloading
+     *                           them again, or {@code null}
+     * @throws MalformedURLException if the proxy url is malformed
+     */
+    public LicenseDownloader( String proxyAddr, String proxyLoginPassword, int maxConnections,
+                              LicenseTextStore textStore )
+        throws MalformedURLException
+    {
+        this.textStore = textStore;
+        RequestConfig.Builder requestConfig = RequestConfig.custom()
+            .setConnectTimeout( DEFAULT_CONNECTION_TIMEOUT )
+            .setSocketTimeout( DEFAULT_CONNECTION_TIMEOUT )
+            .setRedirectsEnabled( true )
+            .setMaxRedirects( MAX_REDIRECTS )
+            .setCircularRedirectsAllowed( false );
+        if ( proxyAddr != null )
+        {
+            URL proxyUrl = new URL( proxyAddr );
+            requestConfig.setProxy( new HttpHost( proxyUrl.getHost(), proxyUrl.getPort(), proxyUrl.getProtocol() ) );
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal( Math.max( 1, maxConnections ) );
+        connectionManager.setDefaultMaxPerRoute( Math.max( 1, maxConnections ) );
+        HttpClientBuilder builder = HttpClients.custom()
+            .setConnectionManager( connectionManager )
+            .setDefaultRequestConfig( requestConfig.build() );
+        if ( proxyLoginPassword != null )
+        {
+            builder.setDefaultHeaders(
+                Collections.singletonList( new BasicHeader( "Proxy-Authorization", proxyLoginPassword ) ) );
+        }
+        this.httpClient = builder.build();
     }
 
     public void downloadFromGitLab(String licenseUrlString, File outputFile) {
@@ -63,46 +141,123 @@ public class LicenseDownloader
         }
     }
 
-    public void downloadLicense( String licenseUrlString, String loginPassword, File outputFile )
+    /**
+     * Downloads a license file, following redirects.
+     * <p>
+     * If a text store is used and has the text of the url, the text is only downloaded if it has changed.
+     *
+     * @param licenseUrlString url of the license, or path of the license in the license registry
+     * @param outputFile       file to write, its extension is fixed from the content type of the response
+     * @throws MalformedURLException if the url is malformed
+     * @throws FileNotFoundException if there is no license at this url
+     * @throws IOException           if the license could not be downloaded
+     */
+    public void downloadLicense( String licenseUrlString, File outputFile )
         throws IOException
     {
-//        download2(licenseUrlString, outputFile);
-
         if ( licenseUrlString == null || licenseUrlString.length() == 0 )
         {
             return;
         }
 
-        final InputStream licenseInputStream;
-        if (!licenseUrlString.startsWith("http") ) {
-            licenseInputStream = new ByteArrayInputStream(LicenseRegistryClient.getInstance().getFileContent(licenseUrlString).getBytes(StandardCharsets.UTF_8));
-        } else {
-            URLConnection connection = newConnection( licenseUrlString, loginPassword );
+        if ( !licenseUrlString.startsWith( "http" ) )
+        {
+            String content = LicenseRegistryClient.getInstance().getFileContent( licenseUrlString );
+            writeFile( new ByteArrayInputStream( content.getBytes( StandardCharsets.UTF_8 ) ), outputFile );
+            return;
+        }
 
-            boolean redirect = false;
-            if ( connection instanceof HttpURLConnection )
-            {
-                int status = ( (HttpURLConnection) connection ).getResponseCode();
+        HttpGet request;
+        try
+        {
+            request = new HttpGet( new URL( licenseUrlString ).toString() );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new MalformedURLException( e.getMessage() );
+        }
 
-                redirect = HttpURLConnection.HTTP_MOVED_TEMP == status || HttpURLConnection.HTTP_MOVED_PERM == status ||
-                        HttpURLConnection.HTTP_SEE_OTHER == status;
+        LicenseTextStore.Entry stored = textStore == null ? null : textStore.getEntry( licenseUrlString );
+        if ( stored != null )
+        {
+            if ( stored.getEtag() != null )
+            {
+                request.setHeader( HttpHeaders.IF_NONE_MATCH, stored.getEtag() );
             }
-
-            if ( redirect )
+            if ( stored.getLastModified() != null )
             {
-                // get redirect url from "location" header field
-                String newUrl = connection.getHeaderField( "Location" );
+                request.setHeader( HttpHeaders.IF_MODIFIED_SINCE, stored.getLastModified() );
+            }
+        }
 
-                // open the new connnection again
-                connection = newConnection( newUrl, loginPassword );
+        try ( CloseableHttpResponse response = httpClient.execute( request ) )
+        {
+            int status = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            if ( status == HttpStatus.SC_NOT_MODIFIED && stored != null )
+            {
+                EntityUtils.consumeQuietly( entity );
+                textStore.copyText( stored, updateFileExtension( outputFile, stored.getContentType() ) );
+                return;
+            }
+            if ( status == HttpStatus.SC_NOT_FOUND || status == HttpStatus.SC_GONE )
+            {
+                // keep the connection alive
+                EntityUtils.consumeQuietly( entity );
+                throw new FileNotFoundException( licenseUrlString );
+            }
+            if ( status >= HttpStatus.SC_MULTIPLE_CHOICES || entity == null )
+            {
+                EntityUtils.consumeQuietly( entity );
+                throw new IOException(
+                    "Server returned HTTP response code: " + status + " for URL: " + licenseUrlString );
+            }
 
+            Header contentTypeHeader = entity.getContentType();
+            String contentType = contentTypeHeader == null ? null : contentTypeHeader.getValue();
+            File licenseFile = updateFileExtension( outputFile, contentType );
+            if ( textStore == null )
+            {
+                writeFile( entity.getContent(), licenseFile );
+                return;
             }
 
-            licenseInputStream = connection.getInputStream();
-            outputFile = updateFileExtension( outputFile, connection.getContentType() );
+            LicenseTextStore.Entry entry;
+            try ( InputStream content = entity.getContent() )
+            {
+                entry = textStore.store( licenseUrlString, content, contentType,
+                                         headerValue( response, HttpHeaders.ETAG ),
+                                         headerValue( response, HttpHeaders.LAST_MODIFIED ) );
+            }
+            textStore.copyText( entry, licenseFile );
+        }
+    }
 
+    /**
+     * Releases the pooled connections.
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            httpClient.close();
+        }
+        catch ( IOException e )
+        {
+            // ignore
         }
+    }
 
+    private static String headerValue( HttpResponse response, String name )
+    {
+        Header header = response.getFirstHeader( name );
+        return header == null ? null : header.getValue();
+    }
+
+    private static void writeFile( InputStream licenseInputStream, File outputFile )
+        throws IOException
+    {
         FileOutputStream fos = null;
 
         try
@@ -117,8 +272,6 @@ public class LicenseDownloader
             FileUtil.tryClose( licenseInputStream );
             FileUtil.tryClose( fos );
         }
-
-
     }
 
     /**
@@ -139,31 +292,6 @@ public class LicenseDownloader
         }
     }
 
-    private URLConnection newConnection( String url, String loginPassword )
-        throws IOException
-    {
-
-        URL licenseUrl = new URL( url );
-        final Proxy proxy;
-        if (proxyUrl != null) {
-            URL purl = new URL(proxyUrl);
-            proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(purl.getHost(), purl.getPort()));
-        } else {
-            proxy = Proxy.NO_PROXY;
-        }
-        URLConnection connection = licenseUrl.openConnection(proxy);
-
-        if ( loginPassword != null )
-        {
-            connection.setRequestProperty( "Proxy-Authorization", loginPassword );
-        }
-        connection.setConnectTimeout( DEFAULT_CONNECTION_TIMEOUT );
-        connection.setReadTimeout( DEFAULT_CONNECTION_TIMEOUT );
-
-        return connection;
-
-    }
-
     private static File updateFileExtension( File outputFile, String mimeType )
     {
         final String realExtension = getFileExtension( mimeType );
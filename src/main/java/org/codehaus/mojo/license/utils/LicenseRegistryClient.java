@@ -8,20 +8,55 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public final class LicenseRegistryClient {
     private final Logger LOGGER = LoggerFactory.getLogger(LicenseRegistryClient.class);
     private static final String LICENSE_REGISTRY_GIT_REPOSITORY_PROPERTY_NAME = "license-registry.git-repository";
+    /**
+     * Directory where a persistent clone of the registry is kept. If not set, the registry is cloned into a
+     * temporary directory on each JVM.
+     */
+    private static final String LICENSE_REGISTRY_CACHE_DIRECTORY_PROPERTY_NAME = "license-registry.cache-directory";
+    /**
+     * How long, in minutes, a persistent clone is used without checking the remote repository.
+     */
+    private static final String LICENSE_REGISTRY_STALENESS_PROPERTY_NAME = "license-registry.staleness";
+    /**
+     * Use the persistent clone as is, never contacting the remote repository.
+     */
+    private static final String LICENSE_REGISTRY_OFFLINE_PROPERTY_NAME = "license-registry.offline";
+    private static final String LAST_CHECK_FILE_NAME = ".license-registry-checked";
+    private static final String MERGES_FILE_NAME = "merges.txt";
+    private static final String LICENSE_URLS_FILE_NAME = "licenses.properties";
+
     private final Map<String, String> cachedFiles;
+    /**
+     * Parsed views of registry files, built once per instance (so once per registry revision).
+     */
+    private final Map<String, Object> parsedViews = new ConcurrentHashMap<>();
 
     private static LicenseRegistryClient INSTANCE;
 
@@ -29,9 +64,13 @@ public final class LicenseRegistryClient {
         cachedFiles = initialize(gitRepository);
     }
 
+    LicenseRegistryClient(final String gitRepository, final Path cacheDirectory, final long stalenessMinutes,
+                          final boolean offline) {
+        cachedFiles = initializeMirror(gitRepository, cacheDirectory, stalenessMinutes, offline);
+    }
+
     private Map<String, String> initialize(final String gitRepository) {
         Objects.requireNonNull(gitRepository);
-        final Map<String, String> result = new HashMap<>();
         final Path tmpPath;
         try {
             tmpPath = Files.createTempDirectory("licenses-");
@@ -39,22 +78,17 @@ public final class LicenseRegistryClient {
             throw new IllegalStateException(ioException);
         }
         try {
-            final ProcessInstance processInstance = LocalProcessBuilderFactory
-                    .newLocalProcessBuilder()
-                    .logger(configuration -> configuration.logger(LOGGER))
-                    .processInstance(ProcessOutputConfigurator::unlimited)
-                    .command("git")
-                    .build()
-                    .execute("clone", "--depth=1", gitRepository, tmpPath)
-                    .toCompletableFuture()
-                    .join();
-            if (processInstance.getExitCode() != 0) {
-                LOGGER.error("The git clone command stdout: {}", String.join("\n", processInstance.getStdOut()));
-                LOGGER.error("The git clone command stderr: {}", String.join("\n", processInstance.getStdErr()));
-                throw new IllegalStateException("Unable to clone git repository " + gitRepository);
-            }
-            LOGGER.info("Cloned {} into {}", gitRepository, tmpPath);
-            Files.walk(tmpPath, 1).filter(Files::isRegularFile).forEach(path -> {
+            cloneInto(gitRepository, tmpPath);
+            return readFiles(tmpPath);
+        } finally {
+            deleteRecursively(tmpPath);
+        }
+    }
+
+    private Map<String, String> readFiles(final Path root) {
+        final Map<String, String> result = new HashMap<>();
+        try {
+            Files.walk(root, 1).filter(Files::isRegularFile).forEach(path -> {
                 try {
                     result.put(path.getFileName().toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
                 } catch (final IOException ioException) {
@@ -63,7 +97,7 @@ public final class LicenseRegistryClient {
             });
             Arrays.asList("templates", "licenses").forEach(source -> {
                 try {
-                    Files.walk(tmpPath.resolve(source), 1).filter(Files::isRegularFile).forEach(path -> {
+                    Files.walk(root.resolve(source), 1).filter(Files::isRegularFile).forEach(path -> {
                         try {
                             result.put(source + "/" + path.getFileName().toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
                         } catch (final IOException ioException) {
@@ -76,35 +110,243 @@ public final class LicenseRegistryClient {
             });
         } catch (final IOException exception) {
             throw new IllegalStateException(exception);
-        } finally {
-            try {
-                Files.walk(tmpPath)
-                        .sorted(Comparator.reverseOrder())
-                        .map(Path::toFile)
-                        .forEach(File::delete);
-            } catch (final IOException ioException) {
-                LOGGER.warn("Unable to delete temporary resource", ioException);
-            }
         }
+        result.remove(LAST_CHECK_FILE_NAME);
         LOGGER.debug("License cached files are: " + String.join(",", result.keySet()));
         return result;
     }
 
+    /**
+     * Makes sure a clone of the repository exists under the cache directory and is up to date according to the
+     * staleness window, then reads all its files. The files are read under the lock, so another JVM updating the
+     * clone meanwhile can't mix two revisions of the registry.
+     */
+    private Map<String, String> initializeMirror(final String gitRepository, final Path cacheDirectory, final long stalenessMinutes,
+                                  final boolean offline) {
+        Objects.requireNonNull(gitRepository);
+        final Path mirror = cacheDirectory.resolve(gitRepository.replaceAll("[^A-Za-z0-9._-]", "_"));
+        try {
+            Files.createDirectories(cacheDirectory);
+            // several JVMs of the same agent may share the cache directory
+            try (FileChannel channel = new RandomAccessFile(mirror + ".lock", "rw").getChannel();
+                 FileLock ignored = channel.lock()) {
+                if (!Files.isDirectory(mirror.resolve(".git"))) {
+                    if (offline) {
+                        throw new IllegalStateException("No local clone of " + gitRepository + " in " + cacheDirectory
+                                + " and " + LICENSE_REGISTRY_OFFLINE_PROPERTY_NAME + " is set");
+                    }
+                    deleteRecursively(mirror);
+                    cloneInto(gitRepository, mirror);
+                    touchLastCheck(mirror);
+                } else if (offline) {
+                    LOGGER.info("Using local clone {} of {} (offline)", mirror, gitRepository);
+                } else if (isFresh(mirror, stalenessMinutes)) {
+                    LOGGER.info("Using local clone {} of {}, checked less than {} minute(s) ago", mirror, gitRepository, stalenessMinutes);
+                } else {
+                    try {
+                        update(gitRepository, mirror);
+                        touchLastCheck(mirror);
+                    } catch (final IllegalStateException exception) {
+                        LOGGER.warn("Unable to update local clone {} of {}, using it as is: {}", mirror, gitRepository,
+                                exception.getMessage());
+                    }
+                }
+                return readFiles(mirror);
+            }
+        } catch (final IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void update(final String gitRepository, final Path mirror) {
+        final String remoteHead = firstToken(git("ls-remote", gitRepository, "HEAD"));
+        final String localHead = firstToken(git("-C", mirror, "rev-parse", "HEAD"));
+        if (remoteHead.equals(localHead)) {
+            LOGGER.info("Local clone {} of {} is up to date ({})", mirror, gitRepository, localHead);
+            return;
+        }
+        LOGGER.info("Updating local clone {} of {} from {} to {}", mirror, gitRepository, localHead, remoteHead);
+        git("-C", mirror, "fetch", "--depth=1", "origin");
+        git("-C", mirror, "reset", "--hard", "FETCH_HEAD");
+    }
+
+    private void cloneInto(final String gitRepository, final Path directory) {
+        git("clone", "--depth=1", gitRepository, directory);
+        LOGGER.info("Cloned {} into {}", gitRepository, directory);
+    }
+
+    private ProcessInstance git(final Object... arguments) {
+        final ProcessInstance processInstance = LocalProcessBuilderFactory
+                .newLocalProcessBuilder()
+                .logger(configuration -> configuration.logger(LOGGER))
+                .processInstance(ProcessOutputConfigurator::unlimited)
+                .command("git")
+                .build()
+                .execute(arguments)
+                .toCompletableFuture()
+                .join();
+        if (processInstance.getExitCode() != 0) {
+            final String command = Arrays.toString(arguments);
+            LOGGER.error("The git {} command stdout: {}", command, String.join("\n", processInstance.getStdOut()));
+            LOGGER.error("The git {} command stderr: {}", command, String.join("\n", processInstance.getStdErr()));
+            throw new IllegalStateException("Unable to execute git " + command);
+        }
+        return processInstance;
+    }
+
+    private static String firstToken(final ProcessInstance processInstance) {
+        return String.join("\n", processInstance.getStdOut()).trim().split("\\s+")[0];
+    }
+
+    private static boolean isFresh(final Path mirror, final long stalenessMinutes) throws IOException {
+        final Path lastCheck = mirror.resolve(LAST_CHECK_FILE_NAME);
+        if (stalenessMinutes <= 0 || !Files.exists(lastCheck)) {
+            return false;
+        }
+        final long age = System.currentTimeMillis() - Files.getLastModifiedTime(lastCheck).toMillis();
+        return age < TimeUnit.MINUTES.toMillis(stalenessMinutes);
+    }
+
+    private static void touchLastCheck(final Path mirror) throws IOException {
+        Files.write(mirror.resolve(LAST_CHECK_FILE_NAME), new byte[0]);
+    }
+
+    private void deleteRecursively(final Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Files.walk(path)
+                    .sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        } catch (final IOException ioException) {
+            LOGGER.warn("Unable to delete temporary resource", ioException);
+        }
+    }
+
     public synchronized static LicenseRegistryClient getInstance() {
         if (INSTANCE == null) {
-            final String licenseRegistryGitRepository = Optional.ofNullable(
-                    System.getProperty(LICENSE_REGISTRY_GIT_REPOSITORY_PROPERTY_NAME,
-                            System.getenv(LICENSE_REGISTRY_GIT_REPOSITORY_PROPERTY_NAME))
-            ).orElseThrow(() -> new IllegalArgumentException("Either Environment variable or JVM argument for set 'license-registry.git-repository' must be provided"));
-            INSTANCE = new LicenseRegistryClient(licenseRegistryGitRepository);
+            final String licenseRegistryGitRepository = Optional.ofNullable(getProperty(LICENSE_REGISTRY_GIT_REPOSITORY_PROPERTY_NAME))
+                    .orElseThrow(() -> new IllegalArgumentException("Either Environment variable or JVM argument for set 'license-registry.git-repository' must be provided"));
+            final String cacheDirectory = getProperty(LICENSE_REGISTRY_CACHE_DIRECTORY_PROPERTY_NAME);
+            if (cacheDirectory == null) {
+                INSTANCE = new LicenseRegistryClient(licenseRegistryGitRepository);
+            } else {
+                final long stalenessMinutes = Long.parseLong(Optional.ofNullable(getProperty(LICENSE_REGISTRY_STALENESS_PROPERTY_NAME)).orElse("0"));
+                final boolean offline = Boolean.parseBoolean(getProperty(LICENSE_REGISTRY_OFFLINE_PROPERTY_NAME));
+                INSTANCE = new LicenseRegistryClient(licenseRegistryGitRepository, Paths.get(cacheDirectory).toAbsolutePath().normalize(), stalenessMinutes, offline);
+            }
         }
         return INSTANCE;
     }
 
+    private static String getProperty(final String name) {
+        return System.getProperty(name, System.getenv(name));
+    }
+
     public String getFileContent(final String fileName) {
         if (!cachedFiles.containsKey(fileName)) {
             throw new IllegalArgumentException("The file '" + fileName + "' hasn't been found");
         }
         return cachedFiles.get(fileName);
     }
+
+    /**
+     * Obtains the entries of a license list file ({@code |}-separated, as the whitelist or the hidden licenses).
+     *
+     * @param fileName name of the file in the registry
+     * @return the immutable list of entries, in file order
+     */
+    public List<String> getLicenseList(final String fileName) {
+        return getParsedView("list:" + fileName, () -> {
+            final List<String> result = new ArrayList<>();
+            for (final String entry : getFileContent(fileName).split("\\s*\\|\\s*")) {
+                result.add(entry.trim());
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * Obtains the license merges declared in {@code merges.txt}, one entry per line, licenses separated by {@code |}.
+     *
+     * @return the immutable list of merge lines, in file order
+     */
+    public List<String> getLicenseMerges() {
+        return getParsedView(MERGES_FILE_NAME, () -> {
+            final List<String> result = new ArrayList<>();
+            final Scanner mergesLines = new Scanner(getFileContent(MERGES_FILE_NAME)).useDelimiter("\\n");
+            while (mergesLines.hasNext()) {
+                result.add(mergesLines.next());
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * Obtains, for every license named in {@code merges.txt}, all the names of its merge line.
+     *
+     * @return the immutable index from a license name to its synonyms (itself included)
+     */
+    public Map<String, List<String>> getLicenseSynonyms() {
+        return getParsedView("synonyms:" + MERGES_FILE_NAME, () -> {
+            final Map<String, List<String>> result = new HashMap<>();
+            for (final String merge : getLicenseMerges()) {
+                final List<String> synonyms = Collections.unmodifiableList(Arrays.asList(merge.split("\\s*\\|\\s*")));
+                for (final String synonym : synonyms) {
+                    // the first line naming a license wins
+                    result.putIfAbsent(synonym, synonyms);
+                }
+            }
+            return Collections.unmodifiableMap(result);
+        });
+    }
+
+    /**
+     * Obtains the license overrides of a properties file, indexed by {@code groupId--artifactId--version}.
+     *
+     * @param fileName name of the file in the registry
+     * @return the immutable override table, iterated in the order the properties are
+     */
+    public Map<String, String> getLicenseOverrides(final String fileName) {
+        return getParsedView("properties:" + fileName, () -> loadProperties(fileName));
+    }
+
+    /**
+     * Obtains the license URLs declared in {@code licenses.properties}, indexed by license name.
+     *
+     * @return the immutable license URL map
+     */
+    public Map<String, String> getLicenseUrls() {
+        return getLicenseOverrides(LICENSE_URLS_FILE_NAME);
+    }
+
+    private Map<String, String> loadProperties(final String fileName) {
+        final Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(getFileContent(fileName)));
+        } catch (final IOException ioException) {
+            throw new IllegalStateException(ioException);
+        }
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (final Object key : properties.keySet()) {
+            result.put((String) key, properties.getProperty((String) key));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getParsedView(final String key, final Supplier<T> parser) {
+        // not computeIfAbsent: a view may be built from another view
+        Object view = parsedViews.get(key);
+        if (view == null) {
+            final Object parsed = parser.get();
+            view = parsedViews.putIfAbsent(key, parsed);
+            if (view == null) {
+                view = parsed;
+            }
+        }
+        return (T) view;
+    }
 }
@@ -0,0 +1,197 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.LicenseProcessor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent cache of licenses resolved by a remote {@link LicenseProcessor}, keyed by
+ * {@code groupId:artifactId:version}.
+ * <p>
+ * Each entry is a small properties file under {@code <directory>/<source>/<groupId>/<artifactId>/<version>.properties}.
+ * Entries are written to a temporary file and renamed into place, so several Maven JVMs can share the same
+ * directory: a reader sees either the previous entry or the new one, never a partial file.
+ * <p>
+ * SNAPSHOT versions are never cached.
+ */
+public class LicenseResolutionCache {
+
+    private static final String RESOLVED_KEY = "resolved";
+    private static final String COUNT_KEY = "license.count";
+    private static final String LICENSE_KEY_PREFIX = "license.";
+
+    private final File directory;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final boolean keepReleases;
+    private final Log log;
+
+    /**
+     * @param directory        root directory of the cache
+     * @param ttlHours         how long a non-empty result stays valid
+     * @param negativeTtlHours how long an empty result (not found, no license) stays valid
+     * @param keepReleases     if {@code true}, non-empty results of release versions never expire
+     * @param log              logger
+     */
+    public LicenseResolutionCache(File directory, int ttlHours, int negativeTtlHours, boolean keepReleases, Log log) {
+        this.directory = directory;
+        this.ttlMillis = TimeUnit.HOURS.toMillis(ttlHours);
+        this.negativeTtlMillis = TimeUnit.HOURS.toMillis(negativeTtlHours);
+        this.keepReleases = keepReleases;
+        this.log = log;
+    }
+
+    /**
+     * Resolves licenses of the given projects, asking {@code processor} only for projects with no valid cache entry.
+     *
+     * @param source    name of the remote source, entries of different sources are kept apart
+     * @param projects  projects to resolve
+     * @param processor processor used on cache misses
+     * @return licenses found for each project, in the iteration order of {@code projects}; projects whose lookup
+     * failed get an empty list, which is not cached
+     */
+    public Map<MavenProject, List<License>> getLicensesByProjects(String source, Collection<MavenProject> projects,
+                                                                  LicenseProcessor processor) {
+        Map<MavenProject, List<License>> result = new LinkedHashMap<>();
+        List<MavenProject> misses = new ArrayList<>();
+        for (MavenProject project : projects) {
+            List<License> cached = read(source, project);
+            // keep the slot even on a miss, so the result stays in project order
+            result.put(project, cached);
+            if (cached == null) {
+                misses.add(project);
+            }
+        }
+        log.info("License cache (" + source + "): " + (projects.size() - misses.size()) + " hit(s), "
+                + misses.size() + " miss(es)");
+
+        if (!misses.isEmpty()) {
+            Map<MavenProject, List<License>> resolved = processor.getLicensesByProjects(misses);
+            for (MavenProject project : misses) {
+                List<License> licenses = resolved.get(project);
+                if (licenses == null) {
+                    // the lookup failed: nothing is known, so nothing is kept for the next builds
+                    result.put(project, Collections.<License>emptyList());
+                } else {
+                    result.put(project, licenses);
+                    write(source, project, licenses);
+                }
+            }
+        }
+        return result;
+    }
+
+    List<License> read(String source, MavenProject project) {
+        if (isSnapshot(project)) {
+            return null;
+        }
+        File file = getEntryFile(source, project);
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+            long resolved = Long.parseLong(properties.getProperty(RESOLVED_KEY));
+            int count = Integer.parseInt(properties.getProperty(COUNT_KEY));
+            if (isExpired(resolved, count > 0)) {
+                return null;
+            }
+            List<License> licenses = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                License license = new License();
+                license.setName(properties.getProperty(LICENSE_KEY_PREFIX + i + ".name"));
+                license.setUrl(properties.getProperty(LICENSE_KEY_PREFIX + i + ".url"));
+                licenses.add(license);
+            }
+            return licenses;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Ignore unreadable license cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    void write(String source, MavenProject project, List<License> licenses) {
+        if (isSnapshot(project)) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(RESOLVED_KEY, String.valueOf(System.currentTimeMillis()));
+        properties.setProperty(COUNT_KEY, String.valueOf(licenses.size()));
+        for (int i = 0; i < licenses.size(); i++) {
+            License license = licenses.get(i);
+            if (license.getName() != null) {
+                properties.setProperty(LICENSE_KEY_PREFIX + i + ".name", license.getName());
+            }
+            if (license.getUrl() != null) {
+                properties.setProperty(LICENSE_KEY_PREFIX + i + ".url", license.getUrl());
+            }
+        }
+
+        File file = getEntryFile(source, project);
+        File parent = file.getParentFile();
+        File tmp = null;
+        try {
+            Files.createDirectories(parent.toPath());
+            tmp = File.createTempFile(file.getName(), ".tmp", parent);
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write license cache entry " + file + ": " + e.getMessage());
+            if (tmp != null && tmp.exists() && !tmp.delete()) {
+                tmp.deleteOnExit();
+            }
+        }
+    }
+
+    private boolean isExpired(long resolved, boolean found) {
+        if (found && keepReleases) {
+            // snapshots are never cached, so every entry here is a release
+            return false;
+        }
+        long age = System.currentTimeMillis() - resolved;
+        return age > (found ? ttlMillis : negativeTtlMillis);
+    }
+
+    private boolean isSnapshot(MavenProject project) {
+        return project.getVersion() == null || ArtifactUtils.isSnapshot(project.getVersion());
+    }
+
+    private File getEntryFile(String source, MavenProject project) {
+        File dir = new File(directory, toFileName(source));
+        dir = new File(dir, toFileName(project.getGroupId()));
+        dir = new File(dir, toFileName(project.getArtifactId()));
+        return new File(dir, toFileName(project.getVersion()) + ".properties");
+    }
+
+    private static String toFileName(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
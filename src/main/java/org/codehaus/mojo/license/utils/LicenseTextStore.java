@@ -0,0 +1,238 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+/**
+ * Persistent store of downloaded license texts, shared by builds.
+ * <p>
+ * Texts are content-addressed: each distinct text is kept once under {@code <directory>/texts/<sha256>}, whatever
+ * the number of urls it was downloaded from. For each url, a small properties file under
+ * {@code <directory>/urls/<sha256 of url>.properties} gives the hash of its text and the {@code ETag} and
+ * {@code Last-Modified} validators of the response, so the url can be revalidated with a conditional request.
+ * <p>
+ * Files are written to a temporary file and renamed into place, so several Maven JVMs can share the same directory.
+ */
+public class LicenseTextStore {
+
+    private static final String URL_KEY = "url";
+    private static final String HASH_KEY = "hash";
+    private static final String CONTENT_TYPE_KEY = "contentType";
+    private static final String ETAG_KEY = "etag";
+    private static final String LAST_MODIFIED_KEY = "lastModified";
+
+    private final File textsDirectory;
+    private final File urlsDirectory;
+    private final Log log;
+
+    /**
+     * @param directory root directory of the store
+     * @param log       logger
+     */
+    public LicenseTextStore(File directory, Log log) {
+        this.textsDirectory = new File(directory, "texts");
+        this.urlsDirectory = new File(directory, "urls");
+        this.log = log;
+    }
+
+    /**
+     * @param url url of a license
+     * @return the stored text of the url, or {@code null} if there is none
+     */
+    public Entry getEntry(String url) {
+        File file = getUrlFile(url);
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.debug("Ignore unreadable license text entry " + file + ": " + e.getMessage());
+            return null;
+        }
+        String hash = properties.getProperty(HASH_KEY);
+        if (!url.equals(properties.getProperty(URL_KEY)) || hash == null || !getTextFile(hash).isFile()) {
+            return null;
+        }
+        return new Entry(hash, properties.getProperty(CONTENT_TYPE_KEY), properties.getProperty(ETAG_KEY),
+                properties.getProperty(LAST_MODIFIED_KEY));
+    }
+
+    /**
+     * Stores the text downloaded from an url.
+     *
+     * @param url          url of the license
+     * @param content      text of the license, not closed
+     * @param contentType  content type of the response, may be {@code null}
+     * @param etag         {@code ETag} of the response, may be {@code null}
+     * @param lastModified {@code Last-Modified} of the response, may be {@code null}
+     * @return the stored entry
+     * @throws IOException if the text could not be stored
+     */
+    public Entry store(String url, InputStream content, String contentType, String etag, String lastModified)
+            throws IOException {
+        Files.createDirectories(textsDirectory.toPath());
+        File tmp = File.createTempFile("text", ".tmp", textsDirectory);
+        String hash;
+        try {
+            MessageDigest digest = newDigest();
+            try (OutputStream out = new DigestOutputStream(new FileOutputStream(tmp), digest)) {
+                byte[] buf = new byte[8192];
+                int len;
+                while ((len = content.read(buf)) > 0) {
+                    out.write(buf, 0, len);
+                }
+            }
+            hash = toHex(digest.digest());
+            File textFile = getTextFile(hash);
+            if (!textFile.isFile()) {
+                move(tmp, textFile);
+            }
+        } finally {
+            if (tmp.exists() && !tmp.delete()) {
+                tmp.deleteOnExit();
+            }
+        }
+
+        Entry entry = new Entry(hash, contentType, etag, lastModified);
+        writeUrlFile(url, entry);
+        return entry;
+    }
+
+    /**
+     * Copies the text of an entry.
+     *
+     * @param entry  stored entry
+     * @param target file to write
+     * @throws IOException if the text could not be copied
+     */
+    public void copyText(Entry entry, File target) throws IOException {
+        Files.copy(getTextFile(entry.getHash()).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeUrlFile(String url, Entry entry) {
+        Properties properties = new Properties();
+        properties.setProperty(URL_KEY, url);
+        properties.setProperty(HASH_KEY, entry.getHash());
+        setIfNotNull(properties, CONTENT_TYPE_KEY, entry.getContentType());
+        setIfNotNull(properties, ETAG_KEY, entry.getEtag());
+        setIfNotNull(properties, LAST_MODIFIED_KEY, entry.getLastModified());
+
+        File file = getUrlFile(url);
+        File tmp = null;
+        try {
+            Files.createDirectories(urlsDirectory.toPath());
+            tmp = File.createTempFile(file.getName(), ".tmp", urlsDirectory);
+            try (OutputStream out = new FileOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            move(tmp, file);
+        } catch (IOException e) {
+            log.warn("Could not write license text entry " + file + ": " + e.getMessage());
+            if (tmp != null && tmp.exists() && !tmp.delete()) {
+                tmp.deleteOnExit();
+            }
+        }
+    }
+
+    private File getTextFile(String hash) {
+        return new File(textsDirectory, hash);
+    }
+
+    private File getUrlFile(String url) {
+        return new File(urlsDirectory, toHex(newDigest().digest(url.getBytes(StandardCharsets.UTF_8))) + ".properties");
+    }
+
+    private static void move(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void setIfNotNull(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Stored text of an url.
+     */
+    public static final class Entry {
+
+        private final String hash;
+        private final String contentType;
+        private final String etag;
+        private final String lastModified;
+
+        Entry(String hash, String contentType, String etag, String lastModified) {
+            this.hash = hash;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @return sha256 of the text
+         */
+        public String getHash() {
+            return hash;
+        }
+
+        /**
+         * @return content type of the response the text was downloaded from, or {@code null}
+         */
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return {@code ETag} of the response the text was downloaded from, or {@code null}
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * @return {@code Last-Modified} of the response the text was downloaded from, or {@code null}
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+    }
+}
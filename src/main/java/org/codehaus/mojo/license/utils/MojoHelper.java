@@ -113,15 +113,77 @@ public class MojoHelper
              */
             public int compare( MavenProject o1, MavenProject o2 )
             {
-
-                String id1 = getArtifactId( o1.getArtifact() );
-                String id2 = getArtifactId( o2.getArtifact() );
-                return id1.compareTo( id2 );
+                return compareArtifactIds( o1.getArtifact(), o2.getArtifact() );
             }
         };
 
     }
 
+    /**
+     * Compares two artifacts as {@code getArtifactId( a1 ).compareTo( getArtifactId( a2 ) )} would, without building
+     * the ids: project comparators run on every insertion in the license sets.
+     *
+     * @param a1 first artifact
+     * @param a2 second artifact
+     * @return a negative integer, zero, or a positive integer as the id of {@code a1} is less than, equal to, or
+     * greater than the id of {@code a2}
+     */
+    public static int compareArtifactIds( Artifact a1, Artifact a2 )
+    {
+        String g1 = String.valueOf( a1.getGroupId() );
+        String g2 = String.valueOf( a2.getGroupId() );
+        String n1 = String.valueOf( a1.getArtifactId() );
+        String n2 = String.valueOf( a2.getArtifactId() );
+        String v1 = String.valueOf( a1.getVersion() );
+        String v2 = String.valueOf( a2.getVersion() );
+        if ( g1.equals( g2 ) && n1.equals( n2 ) )
+        {
+            // same prefix, only the versions differ
+            return v1.compareTo( v2 );
+        }
+
+        int length1 = g1.length() + n1.length() + v1.length() + 4;
+        int length2 = g2.length() + n2.length() + v2.length() + 4;
+        int length = Math.min( length1, length2 );
+        for ( int i = 0; i < length; i++ )
+        {
+            char c1 = artifactIdCharAt( g1, n1, v1, i );
+            char c2 = artifactIdCharAt( g2, n2, v2, i );
+            if ( c1 != c2 )
+            {
+                return c1 - c2;
+            }
+        }
+        return length1 - length2;
+    }
+
+    /**
+     * @return the char at {@code index} of {@code groupId--artifactId--version}
+     */
+    private static char artifactIdCharAt( String groupId, String artifactId, String version, int index )
+    {
+        if ( index < groupId.length() )
+        {
+            return groupId.charAt( index );
+        }
+        index -= groupId.length();
+        if ( index < 2 )
+        {
+            return '-';
+        }
+        index -= 2;
+        if ( index < artifactId.length() )
+        {
+            return artifactId.charAt( index );
+        }
+        index -= artifactId.length();
+        if ( index < 2 )
+        {
+            return '-';
+        }
+        return version.charAt( index - 2 );
+    }
+
     public static Comparator<MavenProject> newMavenProjectComparatorByName()
     {
         return new Comparator<MavenProject>()
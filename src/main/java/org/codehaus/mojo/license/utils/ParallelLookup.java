@@ -0,0 +1,82 @@
+package org.codehaus.mojo.license.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a lookup function over a collection of keys with a bounded number of threads.
+ * <p>
+ * The returned map always iterates in the order of the given keys, whatever the order the lookups completed in,
+ * so callers can merge results exactly as a sequential loop would.
+ */
+public final class ParallelLookup {
+
+    private ParallelLookup() {
+    }
+
+    /**
+     * Applies {@code lookup} to every key.
+     *
+     * @param keys    keys to look up (iteration order is kept in the result)
+     * @param threads maximum number of concurrent lookups, a value lower than {@code 2} runs sequentially
+     * @param name    prefix of the worker thread names
+     * @param lookup  the lookup function, must be thread safe when {@code threads > 1}
+     * @return results indexed by key, in the iteration order of {@code keys}
+     */
+    public static <K, V> Map<K, V> lookup(Collection<K> keys, int threads, String name, Function<K, V> lookup) {
+        Map<K, V> result = new LinkedHashMap<>();
+        int poolSize = Math.min(threads, keys.size());
+        if (poolSize < 2) {
+            for (K key : keys) {
+                result.put(key, lookup.apply(key));
+            }
+            return result;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, newThreadFactory(name));
+        try {
+            List<Future<V>> futures = new ArrayList<>(keys.size());
+            for (K key : keys) {
+                futures.add(executor.submit(() -> lookup.apply(key)));
+            }
+            int index = 0;
+            for (K key : keys) {
+                result.put(key, futures.get(index++).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " lookup was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(name + " lookup failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private static ThreadFactory newThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
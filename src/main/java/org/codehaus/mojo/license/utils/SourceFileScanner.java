@@ -0,0 +1,224 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.MatchPatterns;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Scans source trees with {@link Files#walkFileTree}, keeping the files matching the include and exclude patterns.
+ * <p>
+ * Patterns have the syntax of the plexus {@code DirectoryScanner} (ant patterns, or {@code %regex[...]}) and are
+ * applied while walking: directories which can not hold included files, or whose content is fully excluded (excludes
+ * ending with {@code /**}), are not walked. Files are classified as they are found, and several roots are walked
+ * concurrently.
+ * <p>
+ * The same patterns can also select files among a given list (see {@link #select}), for example the files changed
+ * in a version control system.
+ */
+public class SourceFileScanner {
+
+    private final MatchPatterns includes;
+    private final MatchPatterns excludes;
+
+    /**
+     * Excludes ending with {@code /**}, without this suffix: directories matching one of them are pruned.
+     */
+    private final MatchPatterns excludedDirectories;
+
+    private final Log log;
+
+    /**
+     * @param includes patterns of the files to keep, relative to their root
+     * @param excludes patterns of the files to skip, relative to their root, may be {@code null}
+     * @param log      logger
+     */
+    public SourceFileScanner(String[] includes, String[] excludes, Log log) {
+        this.includes = MatchPatterns.from(normalizePatterns(includes));
+        List<String> normalizedExcludes = normalizePatterns(excludes == null ? new String[0] : excludes);
+        this.excludes = MatchPatterns.from(normalizedExcludes);
+        String suffix = File.separator + "**";
+        List<String> directories = new ArrayList<String>();
+        for (String exclude : normalizedExcludes) {
+            if (!exclude.startsWith("%regex[") && exclude.endsWith(suffix)) {
+                directories.add(exclude.substring(0, exclude.length() - suffix.length()));
+            }
+        }
+        this.excludedDirectories = MatchPatterns.from(directories);
+        this.log = log;
+    }
+
+    /**
+     * Scans the given roots.
+     *
+     * @param roots      root directories, non-existing ones are skipped
+     * @param threads    maximum number of roots scanned concurrently
+     * @param classifier gives the group of a kept file, or {@code null} to skip it; must be thread safe when
+     *                   {@code threads > 1}
+     * @return kept files indexed by their group, roots in the given order
+     */
+    public Map<String, List<File>> scan(Collection<File> roots, int threads,
+                                        final Function<File, String> classifier) {
+        Map<File, Map<String, List<File>>> scans =
+                ParallelLookup.lookup(roots, threads, "license-scan", root -> scan(root, classifier));
+        Map<String, List<File>> result = new LinkedHashMap<String, List<File>>();
+        for (Map<String, List<File>> scan : scans.values()) {
+            for (Map.Entry<String, List<File>> entry : scan.entrySet()) {
+                List<File> files = result.get(entry.getKey());
+                if (files == null) {
+                    result.put(entry.getKey(), entry.getValue());
+                } else {
+                    files.addAll(entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Keeps, among the given files, the ones under one of the roots matching the patterns, without walking the roots.
+     *
+     * @param roots      root directories
+     * @param candidates files to select from
+     * @param classifier gives the group of a kept file, or {@code null} to skip it
+     * @return kept files indexed by their group, roots in the given order
+     */
+    public Map<String, List<File>> select(Collection<File> roots, Collection<File> candidates,
+                                          Function<File, String> classifier) {
+        Map<String, List<File>> result = new LinkedHashMap<String, List<File>>();
+        List<Path> candidatePaths = new ArrayList<Path>(candidates.size());
+        for (File candidate : candidates) {
+            candidatePaths.add(canonicalPath(candidate));
+        }
+        for (File root : roots) {
+            if (!root.isDirectory()) {
+                continue;
+            }
+            Path rootPath = canonicalPath(root);
+            for (Iterator<Path> iterator = candidatePaths.iterator(); iterator.hasNext(); ) {
+                Path path = iterator.next();
+                if (!path.startsWith(rootPath)) {
+                    continue;
+                }
+                // a file is kept once, under the first root holding it
+                iterator.remove();
+                String name = rootPath.relativize(path).toString();
+                if (isIncluded(name)) {
+                    File file = new File(root, name);
+                    add(result, classifier.apply(file), file);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, List<File>> scan(File root, final Function<File, String> classifier) {
+        final Map<String, List<File>> result = new LinkedHashMap<String, List<File>>();
+        if (!root.exists()) {
+            return result;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("discovering source files in " + root);
+        }
+        final Path rootPath = root.toPath();
+        try {
+            Files.walkFileTree(rootPath, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                            if (dir.equals(rootPath)) {
+                                return FileVisitResult.CONTINUE;
+                            }
+                            String name = rootPath.relativize(dir).toString();
+                            if (!includes.matchesPatternStart(name, true)
+                                    || excludedDirectories.matches(name, true)) {
+                                return FileVisitResult.SKIP_SUBTREE;
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                            if (attrs.isDirectory()) {
+                                // directory at the maximum depth, or in a symbolic link loop
+                                return FileVisitResult.CONTINUE;
+                            }
+                            String name = rootPath.relativize(path).toString();
+                            if (isIncluded(name)) {
+                                File file = path.toFile();
+                                add(result, classifier.apply(file), file);
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path path, IOException e) {
+                            log.warn("Could not scan " + path + ": " + e);
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Could not scan " + root + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    private boolean isIncluded(String name) {
+        return includes.matches(name, true) && !excludes.matches(name, true);
+    }
+
+    private static void add(Map<String, List<File>> result, String group, File file) {
+        if (group != null) {
+            List<File> files = result.get(group);
+            if (files == null) {
+                files = new ArrayList<File>();
+                result.put(group, files);
+            }
+            files.add(file);
+        }
+    }
+
+    private static Path canonicalPath(File file) {
+        try {
+            return file.getCanonicalFile().toPath();
+        } catch (IOException e) {
+            return file.getAbsoluteFile().toPath();
+        }
+    }
+
+    /**
+     * Normalizes patterns the way the plexus {@code DirectoryScanner} does.
+     */
+    private static List<String> normalizePatterns(String[] patterns) {
+        List<String> result = new ArrayList<String>(patterns.length);
+        for (String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+            String normalized = pattern.trim();
+            if (!normalized.startsWith("%regex[")) {
+                normalized = normalized.replace('/', File.separatorChar).replace('\\', File.separatorChar);
+                if (normalized.endsWith(File.separator)) {
+                    normalized += "**";
+                }
+            }
+            result.add(normalized);
+        }
+        return result;
+    }
+}
@@ -1,34 +1,63 @@
 package org.codehaus.mojo.license.xray;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.fluent.Executor;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.client.fluent.Response;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.util.EntityUtils;
 import org.apache.maven.model.License;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.mojo.license.LicenseProcessor;
 import org.codehaus.mojo.license.model.LicenseMap;
+import org.codehaus.mojo.license.utils.ParallelLookup;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
-public class XrayLicenseProcessor implements LicenseProcessor {
+public class XrayLicenseProcessor implements LicenseProcessor, Closeable {
+
+    /**
+     * Readers are immutable and thread safe, so one is shared by all lookups.
+     */
+    private static final ObjectReader COMPONENT_INFO_READER = new ObjectMapper().readerFor(ComponentInfo.class);
 
     private final String baseUrl;
     private final Log log;
     private final String accessToken;
+    private final int maxConnections;
+    private final CloseableHttpClient httpClient;
+    private final Executor executor;
     private static final String UNKNOWN_XRAY_LICENSE = "Unknown";
 
     public XrayLicenseProcessor(Log log, String artifactoryUrl, String artifactoryAccessToken) {
+        this(log, artifactoryUrl, artifactoryAccessToken, 1);
+    }
+
+    public XrayLicenseProcessor(Log log, String artifactoryUrl, String artifactoryAccessToken, int maxConnections) {
         this.log = log;
         this.baseUrl = artifactoryUrl;
         this.accessToken = artifactoryAccessToken;
+        this.maxConnections = Math.max(1, maxConnections);
+        // keep-alive connections to Artifactory are reused by all lookups of this processor
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(this.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(this.maxConnections);
+        this.httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+        this.executor = Executor.newInstance(httpClient);
     }
 
     List<License> getLicenseFromJson(String responseStr, MavenProject project) throws IOException {
@@ -51,8 +80,7 @@ public class XrayLicenseProcessor implements LicenseProcessor {
     }
 
     ComponentInfo parseJSON(String data) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readValue(data, ComponentInfo.class);
+        return COMPONENT_INFO_READER.readValue(data);
     }
 
     private String toString(MavenProject project) {
@@ -75,34 +103,65 @@ public class XrayLicenseProcessor implements LicenseProcessor {
 
     @Override
     public List<License> getLicensesByProject(MavenProject project) {
-        try {
-            String projectGAV = "gav://" + toString(project);
+        List<License> licenses = lookupLicenses(project);
+        return licenses == null ? Collections.<License>emptyList() : licenses;
+    }
+
+    @Override
+    public List<License> resolveLicenses(MavenProject project) throws IOException {
+        String projectGAV = "gav://" + toString(project);
+
+        // Note: This is not an official Xray API as documented.
+        // Alternatively, consider using the official API:
+        // https://jfrog.com/help/r/xray-rest-apis/find-component-by-name
+        String url = baseUrl + "/ui/api/v1/xray/ui/scans_list/components?comp_id=" + projectGAV;
 
-            // Note: This is not an official Xray API as documented.
-            // Alternatively, consider using the official API:
-            // https://jfrog.com/help/r/xray-rest-apis/find-component-by-name
-            String url = baseUrl + "/ui/api/v1/xray/ui/scans_list/components?comp_id=" + projectGAV;
+        log.info("Execute: " + url);
 
-            log.info("Execute: " + url);
+        Request request = Request.Get(url)
+                .addHeader("Authorization", "Bearer " + accessToken);
+        Response response = executor.execute(request);
 
-            Request request = Request.Get(url)
-                    .addHeader("Authorization", "Bearer " + accessToken);
-            Response response = request.execute();
+        HttpResponse httpResponse = response.returnResponse();
 
-            HttpResponse httpResponse = response.returnResponse();
+        int statusCode = httpResponse.getStatusLine().getStatusCode();
 
-            int statusCode = httpResponse.getStatusLine().getStatusCode();
+        if (statusCode == HttpStatus.SC_OK) {
+            String responseStr = EntityUtils.toString(httpResponse.getEntity());
+            return getLicenseFromJson(responseStr, project);
+        } else if (statusCode == HttpStatus.SC_NOT_FOUND) {
+            log.info("\tXRay doesn't know " + toString(project));
+            return Collections.emptyList();
+        }
+        throw new IOException("Unknown status code for " + toString(project) + " : " + statusCode);
+    }
+
+    /**
+     * Resolves all projects with up to the configured number of concurrent requests.
+     */
+    @Override
+    public Map<MavenProject, List<License>> getLicensesByProjects(Collection<MavenProject> projects) {
+        Map<MavenProject, List<License>> result =
+                ParallelLookup.lookup(projects, maxConnections, "xray-lookup", this::lookupLicenses);
+        // failed lookups are left out
+        result.values().removeIf(Objects::isNull);
+        return result;
+    }
 
-            if (statusCode == HttpStatus.SC_OK) {
-                String responseStr = EntityUtils.toString(httpResponse.getEntity());
-                return getLicenseFromJson(responseStr, project);
-            } else {
-                log.error("Unknown status code for " + toString(project) + " : " + statusCode);
-            }
+    /**
+     * @return licenses of the project, {@code null} if the lookup failed
+     */
+    private List<License> lookupLicenses(MavenProject project) {
+        try {
+            return resolveLicenses(project);
         } catch (IOException e) {
             log.error(e.getMessage());
+            return null;
         }
+    }
 
-        return Collections.emptyList();
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
     }
 }
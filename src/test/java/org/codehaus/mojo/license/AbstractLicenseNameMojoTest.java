@@ -0,0 +1,81 @@
+package org.codehaus.mojo.license;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AbstractLicenseNameMojoTest {
+
+    @Test
+    public void testEachWorkerProcessesItsShare() throws IOException {
+        AbstractLicenseNameMojo mojo = newMojo(4);
+        List<File> files = newFiles(100);
+        AtomicInteger workers = new AtomicInteger();
+        ConcurrentMap<FileState, Set<File>> states = new ConcurrentHashMap<>();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        mojo.processFiles(files, () -> {
+            workers.incrementAndGet();
+            Thread workerThread = Thread.currentThread();
+            return file -> {
+                // a worker stays on its thread
+                Assert.assertSame(workerThread, Thread.currentThread());
+                threads.add(workerThread);
+                FileState.uptodate.addFile(file, states);
+            };
+        });
+
+        Assert.assertEquals(4, workers.get());
+        Assert.assertEquals(4, threads.size());
+        Assert.assertEquals(100, states.get(FileState.uptodate).size());
+    }
+
+    @Test
+    public void testSequentialByDefault() throws IOException {
+        AbstractLicenseNameMojo mojo = newMojo(1);
+        List<File> processed = new ArrayList<>();
+        List<File> files = newFiles(10);
+
+        mojo.processFiles(files, () -> processed::add);
+
+        Assert.assertEquals(files, processed);
+    }
+
+    @Test(expected = IOException.class)
+    public void testWorkerFailure() throws IOException {
+        newMojo(2).processFiles(newFiles(10), () -> file -> {
+            throw new IOException("failed " + file);
+        });
+    }
+
+    private static List<File> newFiles(int count) {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(new File("file" + i));
+        }
+        return files;
+    }
+
+    private static AbstractLicenseNameMojo newMojo(int headerThreads) {
+        AbstractLicenseNameMojo mojo = new AbstractLicenseNameMojo() {
+            @Override
+            public boolean isSkip() {
+                return false;
+            }
+
+            @Override
+            protected void doAction() {
+            }
+        };
+        mojo.headerThreads = headerThreads;
+        return mojo;
+    }
+}
@@ -0,0 +1,178 @@
+package org.codehaus.mojo.license;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.model.LicenseMap;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+public class AddThirdPartyMojoTest {
+
+    private static final int MODULES = 6;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testModuleMojoUsesRemoteCacheOfAggregator() throws IOException {
+        AggregatorAddThirdPartyMojo aggregator = new AggregatorAddThirdPartyMojo();
+        aggregator.remoteCache = true;
+        aggregator.remoteCacheDirectory = temporaryFolder.newFolder();
+        aggregator.remoteCacheTtl = 24;
+        aggregator.remoteCacheNegativeTtl = 2;
+        aggregator.remoteCacheKeepReleases = true;
+
+        AddThirdPartyMojo module = new AddThirdPartyMojo();
+        module.setLog(new SystemStreamLog());
+        Assert.assertNull(module.createLicenseResolutionCache());
+
+        module.copyRemoteCacheParameters(aggregator);
+
+        Assert.assertNotNull(module.createLicenseResolutionCache());
+        Assert.assertEquals(aggregator.remoteCacheDirectory, module.remoteCacheDirectory);
+        Assert.assertEquals(24, module.remoteCacheTtl);
+        Assert.assertEquals(2, module.remoteCacheNegativeTtl);
+        Assert.assertTrue(module.remoteCacheKeepReleases);
+    }
+
+    @Test
+    public void testAggregateDoesNotDependOnThreads() throws Exception {
+        LicenseMap sequentialLicenses = new LicenseMap();
+        SortedMap<String, MavenProject> sequentialDependencies = new TreeMap<>();
+        newAggregator(1).aggregate(newModules(), Collections.<String, List<Dependency>>emptyMap(),
+                sequentialLicenses, sequentialDependencies);
+
+        LicenseMap parallelLicenses = new LicenseMap();
+        SortedMap<String, MavenProject> parallelDependencies = new TreeMap<>();
+        newAggregator(MODULES).aggregate(newModules(), Collections.<String, List<Dependency>>emptyMap(),
+                parallelLicenses, parallelDependencies);
+
+        Assert.assertEquals(contentOf(sequentialLicenses), contentOf(parallelLicenses));
+        Assert.assertEquals(sequentialDependencies, parallelDependencies);
+
+        // every module contributes its own dependency, all share the common one
+        Assert.assertEquals(MODULES + 1, parallelDependencies.size());
+        Assert.assertEquals(Arrays.asList("common", "module-0-lib"), contentOf(parallelLicenses).get("License 0"));
+        Assert.assertEquals(Collections.singletonList("module-5-lib"),
+                contentOf(parallelLicenses).get("License 5"));
+    }
+
+    @Test
+    public void testAggregateRethrowsFailureOfModule() throws Exception {
+        Map<MavenProject, AddThirdPartyMojo> modules = newModules();
+        List<StubModuleMojo> stubs = new ArrayList<>();
+        for (AddThirdPartyMojo module : modules.values()) {
+            stubs.add((StubModuleMojo) module);
+        }
+        IOException failure = new IOException("module 2 failed");
+        stubs.get(2).failure = failure;
+        // fails earlier in time, but later in reactor order
+        stubs.get(4).failure = new IOException("module 4 failed");
+
+        try {
+            newAggregator(MODULES).aggregate(modules, Collections.<String, List<Dependency>>emptyMap(),
+                    new LicenseMap(), new TreeMap<String, MavenProject>());
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertSame(failure, e);
+        }
+    }
+
+    private static AggregatorAddThirdPartyMojo newAggregator(int threads) {
+        AggregatorAddThirdPartyMojo aggregator = new AggregatorAddThirdPartyMojo();
+        aggregator.aggregateThreads = threads;
+        aggregator.setLog(new SystemStreamLog());
+        return aggregator;
+    }
+
+    /**
+     * Modules in reactor order, the last ones being evaluated the fastest.
+     */
+    private static Map<MavenProject, AddThirdPartyMojo> newModules() {
+        Map<MavenProject, AddThirdPartyMojo> modules = new LinkedHashMap<>();
+        for (int i = 0; i < MODULES; i++) {
+            modules.put(newProject("module-" + i), new StubModuleMojo(i));
+        }
+        return modules;
+    }
+
+    private static Map<String, List<String>> contentOf(LicenseMap licenseMap) {
+        Map<String, List<String>> content = new TreeMap<>();
+        for (Map.Entry<String, SortedSet<MavenProject>> entry : licenseMap.entrySet()) {
+            List<String> artifactIds = new ArrayList<>();
+            for (MavenProject project : entry.getValue()) {
+                artifactIds.add(project.getArtifactId());
+            }
+            content.put(entry.getKey(), artifactIds);
+        }
+        return content;
+    }
+
+    private static MavenProject newProject(String artifactId) {
+        Artifact artifact = new DefaultArtifact("org.example", artifactId, VersionRange.createFromVersion("1.0"),
+                Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setArtifact(artifact);
+        return project;
+    }
+
+    /**
+     * Module mojo evaluated without a build: one dependency of its own, licensed after the module, and one shared by
+     * all modules.
+     */
+    private static class StubModuleMojo extends AddThirdPartyMojo {
+
+        private final int index;
+
+        private final SortedMap<String, MavenProject> moduleDependencies = new TreeMap<>();
+
+        private Exception failure;
+
+        StubModuleMojo(int index) {
+            this.index = index;
+        }
+
+        @Override
+        void initFromMojo(AggregatorAddThirdPartyMojo mojo, MavenProject mavenProject,
+                          Map<String, List<Dependency>> reactorProjects) throws Exception {
+            project = mavenProject;
+            Thread.sleep(10L * (MODULES - index));
+            if (failure != null) {
+                throw failure;
+            }
+            MavenProject own = newProject(mavenProject.getArtifactId() + "-lib");
+            MavenProject common = newProject("common");
+            licenseMap = new LicenseMap();
+            licenseMap.put("License " + index, own);
+            licenseMap.put("License 0", common);
+            moduleDependencies.put(own.getArtifactId(), own);
+            moduleDependencies.put(common.getArtifactId(), common);
+        }
+
+        @Override
+        SortedMap<String, MavenProject> getProjectDependencies() {
+            return moduleDependencies;
+        }
+    }
+}
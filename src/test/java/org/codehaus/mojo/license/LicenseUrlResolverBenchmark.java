@@ -0,0 +1,157 @@
+package org.codehaus.mojo.license;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.model.LicenseMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the url of one license per dependency, each url found through the full model of its dependency, with
+ * {@link LicenseUrlResolver} (indexes built included) and with the scans of all the dependencies and license merges
+ * it replaced. Run with {@code mvn -Pbenchmark -Djmh.args=LicenseUrlResolverBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicenseUrlResolverBenchmark {
+
+    @Param({"300", "3000"})
+    public int dependencyCount;
+
+    private final Log log = new SystemStreamLog() {
+        @Override
+        public void debug(CharSequence content) {
+            // keep the synonyms out of the measurement
+        }
+    };
+
+    private Set<MavenProject> dependencies;
+
+    private List<String> licenseMerges;
+
+    private LicenseMap licenseMap;
+
+    @Setup
+    public void setUp() {
+        dependencies = new LinkedHashSet<>();
+        licenseMerges = new ArrayList<>();
+        licenseMap = new LicenseMap();
+        for (int i = 0; i < dependencyCount; i++) {
+            MavenProject dependency = newProject("lib" + i, "License " + i, "https://example.org/" + i);
+            dependencies.add(dependency);
+            licenseMerges.add("Merged " + i + " | License " + i);
+            licenseMap.put("Merged " + i, slimCopy(dependency));
+        }
+    }
+
+    @Benchmark
+    public void resolver(Blackhole blackhole) {
+        LicenseUrlResolver resolver = new LicenseUrlResolver(dependencies, licenseMerges, log);
+        for (String licenseName : licenseMap.keySet()) {
+            blackhole.consume(resolver.getLicenseUrl(licenseMap, licenseName));
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String licenseName : licenseMap.keySet()) {
+            blackhole.consume(legacyGetLicenseUrl(licenseName));
+        }
+    }
+
+    private String legacyGetLicenseUrl(String licenseName) {
+        List<String> licenseSynonims = legacyFindLicenseSynonims(licenseName);
+        log.debug("synonyms for " + licenseName + " are " + licenseSynonims);
+        SortedSet<MavenProject> mavenProjects = licenseMap.get(licenseName);
+        for (MavenProject mavenProject : mavenProjects) {
+            MavenProject fullMavenProject = legacyFindMavenProject(mavenProject);
+            for (License licenseFromDep : fullMavenProject.getModel().getLicenses()) {
+                if (licenseSynonims.contains(licenseFromDep.getName()) && licenseFromDep.getUrl() != null) {
+                    return licenseFromDep.getUrl();
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<String> legacyFindLicenseSynonims(String licenseName) {
+        for (String licenseMerge : licenseMerges) {
+            String[] items = licenseMerge.split("\\s*\\|\\s*");
+            for (String item : items) {
+                if (licenseName.equals(item)) {
+                    return Arrays.asList(items);
+                }
+            }
+        }
+        return Collections.singletonList(licenseName);
+    }
+
+    private MavenProject legacyFindMavenProject(MavenProject mavenProject) {
+        for (MavenProject p : dependencies) {
+            if (p.getGroupId().equals(mavenProject.getGroupId())
+                    && p.getArtifact().equals(mavenProject.getArtifact())
+                    && p.getVersion().equals(mavenProject.getVersion())
+                    && p.getPackaging().equals(mavenProject.getPackaging())) {
+                return p;
+            }
+        }
+        log.error("maven project not found for " + mavenProject);
+        return mavenProject;
+    }
+
+    private static MavenProject newProject(String artifactId, String licenseName, String licenseUrl) {
+        Artifact artifact = new DefaultArtifact("org.example", artifactId, VersionRange.createFromVersion("1.0"),
+                Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setArtifact(artifact);
+        License license = new License();
+        license.setName(licenseName);
+        license.setUrl(licenseUrl);
+        project.addLicense(license);
+        return project;
+    }
+
+    /**
+     * Same dependency, without its licenses (as projects of a license map may be).
+     */
+    private static MavenProject slimCopy(MavenProject project) {
+        MavenProject copy = new MavenProject();
+        copy.setGroupId(project.getGroupId());
+        copy.setArtifactId(project.getArtifactId());
+        copy.setVersion(project.getVersion());
+        copy.setArtifact(project.getArtifact());
+        return copy;
+    }
+}
@@ -0,0 +1,98 @@
+package org.codehaus.mojo.license;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.model.LicenseMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class LicenseUrlResolverTest {
+
+    private static final int DEPENDENCIES = 100;
+
+    @Test
+    public void testUrlFromSynonym() {
+        MavenProject dependency = newProject("lib", "The MIT License", "https://opensource.org/licenses/MIT");
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put("MIT", slimCopy(dependency));
+
+        LicenseUrlResolver resolver = new LicenseUrlResolver(Collections.singleton(dependency),
+                Arrays.asList("Apache-2.0 | The Apache License", "MIT|The MIT License"), new SystemStreamLog());
+
+        Assert.assertEquals("https://opensource.org/licenses/MIT", resolver.getLicenseUrl(licenseMap, "MIT"));
+        Assert.assertEquals(Arrays.asList("Apache-2.0", "The Apache License"), resolver.getSynonyms("Apache-2.0"));
+        Assert.assertEquals(Collections.singletonList("GPL"), resolver.getSynonyms("GPL"));
+    }
+
+    @Test
+    public void testNoUrl() {
+        MavenProject dependency = newProject("lib", "MIT", null);
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put("MIT", dependency);
+
+        LicenseUrlResolver resolver = new LicenseUrlResolver(Collections.singleton(dependency),
+                Collections.<String>emptyList(), new SystemStreamLog());
+
+        Assert.assertNull(resolver.getLicenseUrl(licenseMap, "MIT"));
+    }
+
+    /**
+     * One license per dependency, each url found through the full model of its dependency; see
+     * {@link LicenseUrlResolverBenchmark} for the timing.
+     */
+    @Test
+    public void testOneLicensePerDependency() {
+        List<MavenProject> dependencies = new ArrayList<>();
+        List<String> licenseMerges = new ArrayList<>();
+        LicenseMap licenseMap = new LicenseMap();
+        for (int i = 0; i < DEPENDENCIES; i++) {
+            MavenProject dependency = newProject("lib" + i, "License " + i, "https://example.org/" + i);
+            dependencies.add(dependency);
+            licenseMerges.add("Merged " + i + " | License " + i);
+            licenseMap.put("Merged " + i, slimCopy(dependency));
+        }
+
+        LicenseUrlResolver resolver = new LicenseUrlResolver(dependencies, licenseMerges, new SystemStreamLog());
+
+        for (int i = 0; i < DEPENDENCIES; i++) {
+            Assert.assertEquals("https://example.org/" + i, resolver.getLicenseUrl(licenseMap, "Merged " + i));
+        }
+    }
+
+    private static MavenProject newProject(String artifactId, String licenseName, String licenseUrl) {
+        Artifact artifact = new DefaultArtifact("org.example", artifactId, VersionRange.createFromVersion("1.0"),
+                Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setArtifact(artifact);
+        License license = new License();
+        license.setName(licenseName);
+        license.setUrl(licenseUrl);
+        project.addLicense(license);
+        return project;
+    }
+
+    /**
+     * Same dependency, without its licenses (as projects of a license map may be).
+     */
+    private static MavenProject slimCopy(MavenProject project) {
+        MavenProject copy = new MavenProject();
+        copy.setGroupId(project.getGroupId());
+        copy.setArtifactId(project.getArtifactId());
+        copy.setVersion(project.getVersion());
+        copy.setArtifact(project.getArtifact());
+        return copy;
+    }
+}
@@ -0,0 +1,61 @@
+package org.codehaus.mojo.license.api;
+
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArtifactCacheTest {
+
+    @Test
+    public void testPutStoresSlimCopy() {
+        ArtifactCache cache = new ArtifactCache(10, false);
+        MavenProject project = newProject("first");
+
+        MavenProject stored = cache.put("org.example--first--1.0", project);
+
+        Assert.assertNotSame(project, stored);
+        Assert.assertSame(stored, cache.get("org.example--first--1.0"));
+        Assert.assertEquals("org.example", stored.getGroupId());
+        Assert.assertEquals("first", stored.getArtifactId());
+        Assert.assertEquals("1.0", stored.getVersion());
+        Assert.assertEquals("https://example.org/first", stored.getUrl());
+        Assert.assertEquals(1, stored.getLicenses().size());
+        Assert.assertEquals("MIT", ((License) stored.getLicenses().get(0)).getName());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        ArtifactCache cache = new ArtifactCache(2, false);
+        cache.put("first", newProject("first"));
+        cache.put("second", newProject("second"));
+        cache.get("first");
+
+        cache.put("third", newProject("third"));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNotNull(cache.get("first"));
+        Assert.assertNull(cache.get("second"));
+        Assert.assertNotNull(cache.get("third"));
+    }
+
+    @Test
+    public void testSoftValues() {
+        ArtifactCache cache = new ArtifactCache(2, true);
+        cache.put("first", newProject("first"));
+
+        Assert.assertEquals("first", cache.get("first").getArtifactId());
+    }
+
+    private static MavenProject newProject(String artifactId) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setUrl("https://example.org/" + artifactId);
+        License license = new License();
+        license.setName("MIT");
+        project.addLicense(license);
+        return project;
+    }
+}
@@ -0,0 +1,58 @@
+package org.codehaus.mojo.license.api;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CachingTemplateRendererTest {
+
+    @Test
+    public void testTemplateWithoutFileIsRenderedOnce() throws IOException {
+        CachingTemplateRenderer renderer = newRenderer("${projectName} ${counter.next()}");
+        Counter counter = new Counter();
+
+        Assert.assertEquals("project 1", renderer.render(parameters(counter, "A.java", false)));
+        Assert.assertEquals("project 1", renderer.render(parameters(counter, "B.java", true)));
+        Assert.assertEquals(1, counter.count);
+    }
+
+    @Test
+    public void testOutputIsCachedByVariablesRead() throws IOException {
+        CachingTemplateRenderer renderer = newRenderer("<#if addSvnKeyWords>${file.name} </#if>${counter.next()}");
+        Counter counter = new Counter();
+
+        Assert.assertEquals("1", renderer.render(parameters(counter, "A.java", false)));
+        Assert.assertEquals("1", renderer.render(parameters(counter, "B.java", false)));
+        Assert.assertEquals("A.java 2", renderer.render(parameters(counter, "A.java", true)));
+        Assert.assertEquals("B.java 3", renderer.render(parameters(counter, "B.java", true)));
+        Assert.assertEquals("A.java 2", renderer.render(parameters(counter, "A.java", true)));
+        Assert.assertEquals(3, counter.count);
+    }
+
+    private static CachingTemplateRenderer newRenderer(String template) throws IOException {
+        FreeMarkerHelper helper = FreeMarkerHelper.newHelperFromContent(template);
+        return new CachingTemplateRenderer(helper, helper.getTemplate(FreeMarkerHelper.TEMPLATE));
+    }
+
+    private static Map<String, Object> parameters(Counter counter, String file, boolean addSvnKeyWords) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("projectName", "project");
+        parameters.put("counter", counter);
+        parameters.put("file", new File(file));
+        parameters.put("addSvnKeyWords", addSvnKeyWords);
+        return parameters;
+    }
+
+    public static class Counter {
+
+        private int count;
+
+        public int next() {
+            return ++count;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.codehaus.mojo.license.api;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DefaultDependenciesToolTest {
+
+    private static final int LIBRARIES = 12;
+
+    private final Set<String> buildThreads = ConcurrentHashMap.newKeySet();
+
+    private MavenProject project;
+
+    @Before
+    public void setUp() {
+        project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId("project");
+        project.setVersion("1.0");
+
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (int i = 0; i < LIBRARIES; i++) {
+            artifacts.add(newArtifact("lib" + i));
+        }
+        // its pom can not be built, nor can the trail of its dependency be checked
+        Artifact broken = newArtifact("broken");
+        artifacts.add(broken);
+        artifacts.add(newArtifact("under-broken", broken));
+        // rejected by the filter, so is its dependency with excludeTransitiveDependencies
+        Artifact excluded = newArtifact("excluded");
+        artifacts.add(excluded);
+        artifacts.add(newArtifact("under-excluded", excluded));
+        // same project reached twice
+        artifacts.add(newArtifact("lib0", newArtifact("lib1")));
+        project.setArtifacts(artifacts);
+    }
+
+    @Test
+    public void testParallelBuildMatchesSequential() {
+        ArtifactCache sequentialCache = new ArtifactCache(100, false);
+        SortedMap<String, MavenProject> sequential = load(1, true, sequentialCache);
+        Assert.assertEquals(Collections.singleton(Thread.currentThread().getName()), buildThreads);
+
+        buildThreads.clear();
+        ArtifactCache parallelCache = new ArtifactCache(100, false);
+        SortedMap<String, MavenProject> parallel = load(4, true, parallelCache);
+        Assert.assertFalse(buildThreads.isEmpty());
+        for (String thread : buildThreads) {
+            Assert.assertTrue(thread, thread.startsWith("license-pom-"));
+        }
+
+        Assert.assertEquals(artifactIds(sequential), artifactIds(parallel));
+        Assert.assertEquals(sequentialCache.size(), parallelCache.size());
+        for (Map.Entry<String, MavenProject> entry : parallel.entrySet()) {
+            // the result holds the cached copies
+            Assert.assertSame(parallelCache.get(entry.getKey()), entry.getValue());
+            Assert.assertEquals(sequentialCache.get(entry.getKey()).getArtifactId(), entry.getValue().getArtifactId());
+        }
+    }
+
+    @Test
+    public void testFailedBuildsAndExcludedTrailsAreSkipped() {
+        ArtifactCache cache = new ArtifactCache(100, false);
+        SortedMap<String, MavenProject> result = load(4, true, cache);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < LIBRARIES; i++) {
+            expected.add("lib" + i);
+        }
+        Collections.sort(expected);
+        Assert.assertEquals(expected, new ArrayList<>(artifactIds(result).values()));
+        Assert.assertNull(cache.get("org.example--broken--1.0"));
+        // built, but dropped because of its trail
+        Assert.assertNotNull(cache.get("org.example--under-broken--1.0"));
+    }
+
+    @Test
+    public void testTrailsAreKeptWithoutExcludeTransitiveDependencies() {
+        SortedMap<String, MavenProject> result = load(4, false, new ArtifactCache(100, false));
+
+        Assert.assertTrue(result.containsKey("org.example--under-broken--1.0"));
+        Assert.assertTrue(result.containsKey("org.example--under-excluded--1.0"));
+        Assert.assertFalse(result.containsKey("org.example--broken--1.0"));
+        Assert.assertFalse(result.containsKey("org.example--excluded--1.0"));
+    }
+
+    private SortedMap<String, MavenProject> load(int pomBuildThreads, boolean excludeTransitiveDependencies,
+                                                 ArtifactCache cache) {
+        DefaultDependenciesTool tool = new DefaultDependenciesTool();
+        tool.enableLogging(new ConsoleLogger(Logger.LEVEL_ERROR, "test"));
+        tool.mavenProjectBuilder = newProjectBuilder();
+        return tool.loadProjectDependencies(project, new Configurator(pomBuildThreads, excludeTransitiveDependencies),
+                null, Collections.<ArtifactRepository>emptyList(), cache);
+    }
+
+    /**
+     * Builds a project from any artifact but {@code broken}, slower for the first artifacts.
+     */
+    private MavenProjectBuilder newProjectBuilder() {
+        return (MavenProjectBuilder) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{MavenProjectBuilder.class}, (proxy, method, args) -> {
+                    if (!"buildFromRepository".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    buildThreads.add(Thread.currentThread().getName());
+                    Artifact artifact = (Artifact) args[0];
+                    if (artifact.getArtifactId().startsWith("lib")) {
+                        Thread.sleep(2L * (LIBRARIES - Integer.parseInt(artifact.getArtifactId().substring(3))));
+                    }
+                    if ("broken".equals(artifact.getArtifactId())) {
+                        throw new ProjectBuildingException(artifact.getId(), "broken pom");
+                    }
+                    MavenProject built = new MavenProject();
+                    built.setGroupId(artifact.getGroupId());
+                    built.setArtifactId(artifact.getArtifactId());
+                    built.setVersion(artifact.getVersion());
+                    built.setArtifact(newArtifact(artifact.getArtifactId()));
+                    return built;
+                });
+    }
+
+    private static Map<String, String> artifactIds(SortedMap<String, MavenProject> projects) {
+        Map<String, String> artifactIds = new TreeMap<>();
+        for (Map.Entry<String, MavenProject> entry : projects.entrySet()) {
+            artifactIds.put(entry.getKey(), entry.getValue().getArtifactId());
+        }
+        return artifactIds;
+    }
+
+    /**
+     * @param trail artifacts between the project and the new one
+     */
+    private static Artifact newArtifact(String artifactId, Artifact... trail) {
+        Artifact artifact = new DefaultArtifact("org.example", artifactId, VersionRange.createFromVersion("1.0"),
+                Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        List<String> dependencyTrail = new ArrayList<>();
+        dependencyTrail.add("org.example:project:jar:1.0");
+        for (Artifact parent : trail) {
+            dependencyTrail.add(parent.getId());
+        }
+        dependencyTrail.add(artifact.getId());
+        artifact.setDependencyTrail(dependencyTrail);
+        return artifact;
+    }
+
+    private static class Configurator implements MavenProjectDependenciesConfigurator {
+
+        private final int pomBuildThreads;
+
+        private final boolean excludeTransitiveDependencies;
+
+        Configurator(int pomBuildThreads, boolean excludeTransitiveDependencies) {
+            this.pomBuildThreads = pomBuildThreads;
+            this.excludeTransitiveDependencies = excludeTransitiveDependencies;
+        }
+
+        public boolean isIncludeTransitiveDependencies() {
+            return true;
+        }
+
+        public boolean isExcludeTransitiveDependencies() {
+            return excludeTransitiveDependencies;
+        }
+
+        public List<String> getIncludedScopes() {
+            return Collections.emptyList();
+        }
+
+        public List<String> getExcludedScopes() {
+            return Arrays.asList(Artifact.SCOPE_TEST);
+        }
+
+        public String getIncludedArtifacts() {
+            return null;
+        }
+
+        public String getIncludedGroups() {
+            return null;
+        }
+
+        public String getExcludedGroups() {
+            return null;
+        }
+
+        public String getExcludedArtifacts() {
+            return "^excluded$";
+        }
+
+        public boolean isVerbose() {
+            return false;
+        }
+
+        public int getPomBuildThreads() {
+            return pomBuildThreads;
+        }
+
+        public boolean isLightPomReader() {
+            return false;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
@@ -123,6 +124,16 @@ public class DefaultThirdPartyToolTest {
         }
     }
 
+    @Test
+    public void testGetProjectFromCustomOverrideFileKeepsOnlyVersionsInRange() {
+        Assert.assertEquals(
+                Arrays.asList(artifactCacheMixVersionFormat.get("group1--artifact1--1.0"),
+                        artifactCacheMixVersionFormat.get("group1--artifact1--2.0")),
+                thirdPartyTool.getProjectFromCustomOverrideFile("group1--artifact1--[1.0,2.0]", artifactCacheMixVersionFormat));
+        Assert.assertTrue(thirdPartyTool.getProjectFromCustomOverrideFile("group1--unknown--[1.0,2.0]", artifactCacheMixVersionFormat).isEmpty());
+        Assert.assertTrue(thirdPartyTool.getProjectFromCustomOverrideFile("group1--artifact1", artifactCacheMixVersionFormat).isEmpty());
+    }
+
     private void initializeArtifactCache() throws InvalidVersionSpecificationException {
         projectArtifactsScalarVersionFormat = new String[]{
                 "group1--artifact1--1.0",
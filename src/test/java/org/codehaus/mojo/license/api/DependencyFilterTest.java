@@ -0,0 +1,58 @@
+package org.codehaus.mojo.license.api;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class DependencyFilterTest {
+
+    @Test
+    public void testNoPatternIncludesAll() {
+        DependencyFilter filter = new DependencyFilter(null, "", null, null, null, null);
+
+        Assert.assertTrue(filter.isIncluded("org.example", "lib"));
+    }
+
+    @Test
+    public void testIncludeByGroupOrArtifact() {
+        DependencyFilter filter = new DependencyFilter("^org\\.example", "^commons-", null, null, null, null);
+
+        Assert.assertTrue(filter.isIncluded("org.example.sub", "lib"));
+        Assert.assertTrue(filter.isIncluded("org.other", "commons-io"));
+        Assert.assertFalse(filter.isIncluded("org.other", "lib"));
+    }
+
+    @Test
+    public void testExcludeWinsOverInclude() {
+        DependencyFilter filter = new DependencyFilter("^org\\.example", null, "internal", "-test$", null, null);
+
+        Assert.assertTrue(filter.isIncluded("org.example", "lib"));
+        Assert.assertFalse(filter.isIncluded("org.example.internal", "lib"));
+        Assert.assertFalse(filter.isIncluded("org.example", "lib-test"));
+        // decisions are kept by groupId and by artifactId, not by pair
+        Assert.assertFalse(filter.isIncluded("org.other", "lib"));
+        Assert.assertTrue(filter.isIncluded("org.example", "lib"));
+    }
+
+    @Test
+    public void testScopes() {
+        DependencyFilter filter = new DependencyFilter(null, null, null, null,
+                Arrays.asList(Artifact.SCOPE_COMPILE, Artifact.SCOPE_TEST), Collections.singletonList(Artifact.SCOPE_TEST));
+
+        Assert.assertTrue(filter.accept(newArtifact(Artifact.SCOPE_COMPILE, "jar")));
+        Assert.assertFalse(filter.accept(newArtifact(Artifact.SCOPE_TEST, "jar")));
+        Assert.assertFalse(filter.accept(newArtifact(Artifact.SCOPE_RUNTIME, "jar")));
+        Assert.assertFalse(filter.accept(newArtifact(Artifact.SCOPE_COMPILE, DefaultThirdPartyTool.LICENSE_DB_TYPE)));
+    }
+
+    private static Artifact newArtifact(String scope, String type) {
+        return new DefaultArtifact("org.example", "lib", VersionRange.createFromVersion("1.0"), scope, type, null,
+                new DefaultArtifactHandler(type));
+    }
+}
@@ -0,0 +1,126 @@
+package org.codehaus.mojo.license.api;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.factory.ArtifactFactory;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class PomLicenseReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File repository;
+    private PomLicenseReader reader;
+
+    @Before
+    public void setUp() throws IOException {
+        repository = folder.newFolder("repository");
+        ArtifactRepository localRepository = new DefaultArtifactRepository("local", repository.toURI().toString(),
+                new DefaultRepositoryLayout());
+        reader = new PomLicenseReader(localRepository, newArtifactFactory(), new ConsoleLogger(Logger.LEVEL_WARN, "test"));
+    }
+
+    @Test
+    public void testReadDeclaredLicenses() throws IOException {
+        writePom("org.example", "lib", "1.0", "<name>Lib</name><url>https://example.org/lib</url>"
+                + "<packaging>bundle</packaging>"
+                + "<dependencies><dependency><groupId>g</groupId><artifactId>a</artifactId>"
+                + "<version>1</version><name>not the project name</name></dependency></dependencies>"
+                + "<licenses><license><name>MIT</name><url>https://opensource.org/licenses/MIT</url>"
+                + "<distribution>repo</distribution></license></licenses>");
+
+        MavenProject project = reader.read(newArtifact("org.example", "lib", "1.0"));
+
+        Assert.assertEquals("Lib", project.getName());
+        Assert.assertEquals("https://example.org/lib", project.getUrl());
+        Assert.assertEquals("bundle", project.getPackaging());
+        Assert.assertEquals("1.0", project.getVersion());
+        Assert.assertEquals(Artifact.SCOPE_RUNTIME, project.getArtifact().getScope());
+        Assert.assertEquals(1, project.getLicenses().size());
+        License license = (License) project.getLicenses().get(0);
+        Assert.assertEquals("MIT", license.getName());
+        Assert.assertEquals("https://opensource.org/licenses/MIT", license.getUrl());
+        Assert.assertEquals("repo", license.getDistribution());
+    }
+
+    @Test
+    public void testLicensesAndUrlInheritedFromParents() throws IOException {
+        writePom("org.example", "root", "1", "<url>https://example.org</url>"
+                + "<licenses><license><name>Apache-2.0</name></license></licenses>");
+        writePom("org.example", "parent", "1", parent("root", "1"));
+        writePom("org.example", "first", "1.0", parent("parent", "1") + "<name>First</name>");
+        writePom("org.example", "second", "1.0", parent("parent", "1"));
+
+        MavenProject first = reader.read(newArtifact("org.example", "first", "1.0"));
+        // the parent poms are not read again
+        Assert.assertTrue(new File(repository, "org/example/root/1/root-1.pom").delete());
+        MavenProject second = reader.read(newArtifact("org.example", "second", "1.0"));
+
+        Assert.assertEquals("jar", first.getPackaging());
+        Assert.assertEquals("https://example.org/parent/first", first.getUrl());
+        Assert.assertEquals("Apache-2.0", ((License) first.getLicenses().get(0)).getName());
+        Assert.assertEquals("https://example.org/parent/second", second.getUrl());
+        Assert.assertEquals("Apache-2.0", ((License) second.getLicenses().get(0)).getName());
+    }
+
+    @Test
+    public void testNoProjectWhenPomCanNotBeReadAlone() throws IOException {
+        writePom("org.example", "interpolated", "1.0", "<licenses><license><name>${license.name}</name>"
+                + "</license></licenses>");
+        writePom("org.example", "orphan", "1.0", parent("missing", "1"));
+
+        Assert.assertNull(reader.read(newArtifact("org.example", "interpolated", "1.0")));
+        Assert.assertNull(reader.read(newArtifact("org.example", "orphan", "1.0")));
+        Assert.assertNull(reader.read(newArtifact("org.example", "absent", "1.0")));
+    }
+
+    private static String parent(String artifactId, String version) {
+        return "<parent><groupId>org.example</groupId><artifactId>" + artifactId + "</artifactId><version>"
+                + version + "</version></parent>";
+    }
+
+    private void writePom(String groupId, String artifactId, String version, String content) throws IOException {
+        File dir = new File(repository, groupId.replace('.', '/') + "/" + artifactId + "/" + version);
+        Assert.assertTrue(dir.mkdirs());
+        String pom = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project><modelVersion>4.0.0</modelVersion>"
+                + "<groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId><version>" + version
+                + "</version>" + content + "</project>";
+        Files.write(new File(dir, artifactId + "-" + version + ".pom").toPath(),
+                pom.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Artifact newArtifact(String groupId, String artifactId, String version) {
+        return new DefaultArtifact(groupId, artifactId, VersionRange.createFromVersion(version),
+                Artifact.SCOPE_RUNTIME, "pom", null, new DefaultArtifactHandler("pom"));
+    }
+
+    private static ArtifactFactory newArtifactFactory() {
+        return (ArtifactFactory) Proxy.newProxyInstance(ArtifactFactory.class.getClassLoader(),
+                new Class<?>[]{ArtifactFactory.class}, (proxy, method, args) -> {
+                    if (!"createProjectArtifact".equals(method.getName()) || args.length != 3) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return newArtifact((String) args[0], (String) args[1], (String) args[2]);
+                });
+    }
+}
@@ -0,0 +1,164 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
+import org.codehaus.mojo.license.model.Copyright;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Tests the {@link FileHeaderPrefix}.
+ */
+public class FileHeaderPrefixTest
+{
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final int PREFIX_SIZE = 256;
+
+    private static final String IGNORE_TAG = "%" + "%Ignore-License";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final FileHeaderTransformer transformer = new JavaFileHeaderTransformer();
+
+    @Test
+    public void testSameStateAsProcessor()
+        throws IOException
+    {
+        String content = newProcessor( "description" ).addHeader( "class A {}\r\n" );
+
+        assertSameState( content, "description", true, false );
+        assertSameState( content, "other description", true, true );
+        assertSameState( content.replace( "\n", "\r\n" ), "description", true, false );
+        assertSameState( "class A {}\n", "description", false, false );
+    }
+
+    @Test
+    public void testRestOfFileIsScanned()
+        throws IOException
+    {
+        String content = newProcessor( "description" ).addHeader( "class A {}\n" );
+        String body = repeat( "// été\n", PREFIX_SIZE );
+
+        Assert.assertEquals( FileHeaderPrefix.State.HEADER, read( content + body ).getState() );
+        Assert.assertEquals( FileHeaderPrefix.State.NO_HEADER, read( body ).getState() );
+        Assert.assertEquals( FileHeaderPrefix.State.IGNORED, read( content + body + IGNORE_TAG + body ).getState() );
+
+        // a second header, or a header starting after the prefix, is left to the processor
+        Assert.assertEquals( FileHeaderPrefix.State.UNKNOWN, read( content + body + content ).getState() );
+        Assert.assertEquals( FileHeaderPrefix.State.UNKNOWN, read( body + content ).getState() );
+
+        // tags across two chunks of the file
+        for ( int shift = 0; shift < 8; shift++ )
+        {
+            String padding = repeat( "x", PREFIX_SIZE - 2 - shift );
+            Assert.assertEquals( FileHeaderPrefix.State.IGNORED, read( padding + IGNORE_TAG ).getState() );
+            Assert.assertEquals( FileHeaderPrefix.State.UNKNOWN,
+                                 read( padding + transformer.getProcessStartTag() ).getState() );
+        }
+    }
+
+    @Test
+    public void testUnterminatedHeader()
+        throws IOException
+    {
+        String content = "/*\n * " + transformer.getProcessStartTag() + "\n * header\n */\nclass A {}\n";
+
+        Assert.assertEquals( FileHeaderPrefix.State.UNKNOWN, read( content ).getState() );
+    }
+
+    private void assertSameState( String content, String description, boolean touched, boolean modified )
+        throws IOException
+    {
+        File file = write( content );
+
+        FileHeaderProcessor processor = newProcessor( description );
+        processor.process( content, temporaryFolder.newFile(), ENCODING );
+        Assert.assertEquals( touched, processor.isTouched() );
+        Assert.assertEquals( modified, processor.isModified() );
+
+        FileHeaderPrefix prefix = FileHeaderPrefix.read( file, ENCODING, PREFIX_SIZE, transformer.getProcessStartTag(),
+                                                         transformer.getProcessEndTag(), IGNORE_TAG );
+        if ( !touched )
+        {
+            Assert.assertEquals( FileHeaderPrefix.State.NO_HEADER, prefix.getState() );
+            return;
+        }
+        Assert.assertEquals( FileHeaderPrefix.State.HEADER, prefix.getState() );
+        FileHeaderProcessor checker = newProcessor( description );
+        checker.check( prefix.getHeaderContent() );
+        Assert.assertTrue( checker.isTouched() );
+        Assert.assertEquals( modified, checker.isModified() );
+    }
+
+    private FileHeaderPrefix read( String content )
+        throws IOException
+    {
+        return FileHeaderPrefix.read( write( content ), ENCODING, PREFIX_SIZE, transformer.getProcessStartTag(),
+                                      transformer.getProcessEndTag(), IGNORE_TAG );
+    }
+
+    private File write( String content )
+        throws IOException
+    {
+        File file = temporaryFolder.newFile();
+        Files.write( file.toPath(), content.getBytes( ENCODING ) );
+        return file;
+    }
+
+    private FileHeaderProcessor newProcessor( String description )
+    {
+        FileHeader header = new FileHeader();
+        header.setDescription( description );
+        header.setCopyright( Copyright.newCopyright( 2010, 2012, "Codehaus" ) );
+        header.setLicense( "license text" );
+
+        UpdateFileHeaderFilter filter = new UpdateFileHeaderFilter();
+        filter.setUpdateCopyright( true );
+        filter.setUpdateDescription( true );
+        filter.setUpdateLicense( true );
+        filter.setLog( new SystemStreamLog() );
+        return new FileHeaderProcessor( filter, header, transformer );
+    }
+
+    private static String repeat( String text, int count )
+    {
+        StringBuilder result = new StringBuilder();
+        for ( int i = 0; i < count; i++ )
+        {
+            result.append( text );
+        }
+        return result.toString();
+    }
+}
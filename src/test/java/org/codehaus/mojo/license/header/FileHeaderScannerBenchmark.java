@@ -0,0 +1,113 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.codehaus.mojo.license.model.Copyright;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters a file with a header through the {@link FileHeaderScanner} and through the nuiton processor, for every
+ * transformer. Run with {@code mvn -Pbenchmark -Djmh.args=FileHeaderScannerBenchmark}.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class FileHeaderScannerBenchmark
+{
+
+    @Param( { "Apt", "FreeMarker", "Html", "Java", "Jsp", "MySql", "Php", "Properties", "Rst", "Sql", "Xml" } )
+    public String transformer;
+
+    private UpdateFileHeaderFilter filter;
+
+    private FileHeaderProcessor processor;
+
+    private FileHeaderScanner scanner;
+
+    private String content;
+
+    @Setup
+    public void setUp()
+        throws ReflectiveOperationException
+    {
+        FileHeaderTransformer fileHeaderTransformer = (FileHeaderTransformer) Class.forName(
+            "org.codehaus.mojo.license.header.transformer." + transformer + "FileHeaderTransformer" ).newInstance();
+
+        FileHeader header = new FileHeader();
+        header.setDescription( "description" );
+        header.setCopyright( Copyright.newCopyright( 2010, 2012, "Codehaus" ) );
+        header.setLicense( "license text\n\nsecond paragraph" );
+
+        filter = new UpdateFileHeaderFilter();
+        filter.setUpdateCopyright( true );
+        filter.setUpdateDescription( true );
+        filter.setUpdateLicense( true );
+        filter.setLog( new SystemStreamLog() );
+        processor = new FileHeaderProcessor( filter, header, fileHeaderTransformer );
+        scanner = new FileHeaderScanner( filter );
+
+        StringBuilder body = new StringBuilder();
+        for ( int i = 0; i < 300; i++ )
+        {
+            body.append( "line " ).append( i ).append( " of the content of the file\n" );
+        }
+        content = processor.addHeader( body.toString() );
+    }
+
+    @Benchmark
+    public String scanner()
+    {
+        filter.reset();
+        return scanner.process( content );
+    }
+
+    @Benchmark
+    public String legacy()
+        throws IOException
+    {
+        filter.reset();
+        StringWriter output = new StringWriter( content.length() + 256 );
+        processor.process( new StringReader( content ), output );
+        return output.toString();
+    }
+}
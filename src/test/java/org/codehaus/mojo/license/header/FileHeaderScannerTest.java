@@ -0,0 +1,183 @@
+package org.codehaus.mojo.license.header;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.mojo.license.header.transformer.AptFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.FreeMarkerFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.HtmlFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.JspFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.MySqlFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.PhpFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.PropertiesFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.RstFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.SqlFileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.XmlFileHeaderTransformer;
+import org.codehaus.mojo.license.model.Copyright;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the {@link FileHeaderScanner} gives the same results as the nuiton processor.
+ */
+public class FileHeaderScannerTest
+{
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final String CONTENT = "content";
+
+    private static final String PACKAGE = "package org.codehaus.mojo.license.header.transformer;";
+
+    private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSameResultAsNuitonProcessor()
+        throws IOException
+    {
+        List<FileHeaderTransformer> transformers = Arrays.asList(
+            new AptFileHeaderTransformer(), new FreeMarkerFileHeaderTransformer(), new HtmlFileHeaderTransformer(),
+            new JavaFileHeaderTransformer(), new JspFileHeaderTransformer(), new MySqlFileHeaderTransformer(),
+            new PhpFileHeaderTransformer(), new PropertiesFileHeaderTransformer(), new RstFileHeaderTransformer(),
+            new SqlFileHeaderTransformer(), new XmlFileHeaderTransformer() );
+
+        for ( FileHeaderTransformer transformer : transformers )
+        {
+            for ( String content : getContents( transformer ) )
+            {
+                assertSameResult( transformer, content, "description" );
+                assertSameResult( transformer, content, "other description" );
+            }
+        }
+    }
+
+    @Test
+    public void testNormalizeLineSeparators()
+    {
+        String separator = System.getProperty( "line.separator" );
+
+        Assert.assertEquals( "", FileHeaderScanner.normalizeLineSeparators( "" ) );
+        Assert.assertEquals( "a" + separator, FileHeaderScanner.normalizeLineSeparators( "a" ) );
+        Assert.assertEquals( separator + "a" + separator + "b" + separator + separator + "c" + separator,
+                             FileHeaderScanner.normalizeLineSeparators( "\na\r\nb\r\rc\n" ) );
+    }
+
+    private List<String> getContents( FileHeaderTransformer transformer )
+    {
+        String body = CONTENT + "\n" + CONTENT + "\n";
+        String withHeader = newProcessor( transformer, "description", false ).addHeader( body );
+        String startTag = transformer.getProcessStartTag();
+        String endTag = transformer.getProcessEndTag();
+
+        List<String> contents = new ArrayList<String>();
+        contents.add( "" );
+        contents.add( CONTENT );
+        contents.add( body );
+        contents.add( withHeader );
+        contents.add( withHeader.replace( "\n", "\r\n" ) );
+        contents.add( withHeader.replace( "\n", "\r" ) );
+        contents.add( withHeader.trim() );
+        contents.add( body + withHeader );
+        contents.add( PACKAGE + "\n" + withHeader );
+        contents.add( PROLOG + "\n" + withHeader );
+        contents.add( "#!/bin/sh\n" + withHeader );
+        contents.add( startTag + "\n" + body );
+        contents.add( withHeader + startTag + "\n" + body );
+        contents.add( withHeader + withHeader );
+        contents.add( endTag + "\n" + withHeader );
+        contents.add( startTag + startTag + endTag + "\n" );
+        contents.add( startTag + endTag );
+        contents.add( startTag + "\n" + withHeader );
+        return contents;
+    }
+
+    private void assertSameResult( FileHeaderTransformer transformer, String content, String description )
+        throws IOException
+    {
+        String message = transformer.getName() + " - " + description + " - " + content;
+
+        FileHeaderProcessor legacy = newProcessor( transformer, description, true );
+        File legacyFile = temporaryFolder.newFile();
+        String legacyError = process( legacy, content, legacyFile );
+
+        FileHeaderProcessor processor = newProcessor( transformer, description, false );
+        File file = temporaryFolder.newFile();
+        String error = process( processor, content, file );
+
+        Assert.assertEquals( message, legacyError, error );
+        Assert.assertEquals( message, legacy.isDetectHeader(), processor.isDetectHeader() );
+        if ( legacyError == null )
+        {
+            Assert.assertEquals( message, legacy.isTouched(), processor.isTouched() );
+            Assert.assertEquals( message, legacy.isModified(), processor.isModified() );
+            Assert.assertEquals( message, new String( Files.readAllBytes( legacyFile.toPath() ), ENCODING ),
+                                 new String( Files.readAllBytes( file.toPath() ), ENCODING ) );
+        }
+    }
+
+    private static String process( FileHeaderProcessor processor, String content, File file )
+        throws IOException
+    {
+        try
+        {
+            processor.process( content, file, ENCODING );
+            return null;
+        }
+        catch ( RuntimeException e )
+        {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    private static FileHeaderProcessor newProcessor( FileHeaderTransformer transformer, String description,
+                                                     boolean legacyProcessor )
+    {
+        FileHeader header = new FileHeader();
+        header.setDescription( description );
+        header.setCopyright( Copyright.newCopyright( 2010, 2012, "Codehaus" ) );
+        header.setLicense( "license text\n\nsecond paragraph" );
+
+        UpdateFileHeaderFilter filter = new UpdateFileHeaderFilter();
+        filter.setUpdateCopyright( true );
+        filter.setUpdateDescription( true );
+        filter.setUpdateLicense( true );
+        filter.setLog( new SystemStreamLog() );
+        FileHeaderProcessor processor = new FileHeaderProcessor( filter, header, transformer );
+        processor.setLegacyProcessor( legacyProcessor );
+        return processor;
+    }
+}
@@ -0,0 +1,229 @@
+package org.codehaus.mojo.license.header.transformer;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2008 - 2011 CodeLutin, Codehaus, Tony Chemit
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.mojo.license.header.FileHeader;
+import org.codehaus.mojo.license.model.Copyright;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.codehaus.mojo.license.header.transformer.FileHeaderTransformer.LINE_SEPARATOR;
+
+/**
+ * Compares the header methods of {@link AbstractFileHeaderTransformer} with the {@code split} and regex based
+ * versions they replaced, which are kept here as the {@code legacy*} benchmarks. Run with
+ * {@code mvn -Pbenchmark -Djmh.args=AbstractFileHeaderTransformerBenchmark}.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class AbstractFileHeaderTransformerBenchmark
+{
+
+    private static final Pattern REMOVE_SPACE_PATTERN = Pattern.compile( "(\\s+)" );
+
+    @Param( { "Java", "Xml", "Properties", "Sql" } )
+    public String transformer;
+
+    private AbstractFileHeaderTransformer fileHeaderTransformer;
+
+    private FileHeader header1;
+
+    private FileHeader header2;
+
+    private String text;
+
+    private String processBoxed;
+
+    private String commentBoxed;
+
+    @Setup
+    public void setUp()
+        throws ReflectiveOperationException
+    {
+        fileHeaderTransformer = (AbstractFileHeaderTransformer) Class.forName(
+            "org.codehaus.mojo.license.header.transformer." + transformer + "FileHeaderTransformer" ).newInstance();
+
+        StringBuilder license = new StringBuilder();
+        for ( int i = 0; i < 20; i++ )
+        {
+            license.append( "line " ).append( i ).append( " of the license text,\twith some   spaces\n" );
+        }
+        header1 = newHeader( license.toString() );
+        // same license once spaces are removed
+        header2 = newHeader( "  " + license.toString().replace( " ", "  " ) + "\n" );
+
+        text = fileHeaderTransformer.toString( header1 );
+        processBoxed = fileHeaderTransformer.boxProcessTag( text );
+        commentBoxed = fileHeaderTransformer.boxComment( processBoxed, true );
+    }
+
+    @Benchmark
+    public String boxComment()
+    {
+        return fileHeaderTransformer.boxComment( processBoxed, true );
+    }
+
+    @Benchmark
+    public String legacyBoxComment()
+    {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append( fileHeaderTransformer.getCommentStartTag() ).append( LINE_SEPARATOR );
+        for ( String line : processBoxed.split( "\\r?\\n" ) )
+        {
+            buffer.append( fileHeaderTransformer.getCommentLinePrefix() );
+            buffer.append( line );
+            buffer.append( LINE_SEPARATOR );
+        }
+        buffer.append( fileHeaderTransformer.getCommentEndTag() ).append( LINE_SEPARATOR );
+        return buffer.toString();
+    }
+
+    @Benchmark
+    public String unboxComment()
+    {
+        return fileHeaderTransformer.unboxComent( commentBoxed );
+    }
+
+    @Benchmark
+    public String legacyUnboxComment()
+    {
+        String prefix = fileHeaderTransformer.getCommentLinePrefix();
+        StringBuilder buffer = new StringBuilder();
+        for ( String line : commentBoxed.split( LINE_SEPARATOR + "" ) )
+        {
+            if ( StringUtils.isEmpty( line ) || line.contains( fileHeaderTransformer.getCommentStartTag() )
+                || line.contains( fileHeaderTransformer.getCommentEndTag() ) )
+            {
+                continue;
+            }
+            int index = line.indexOf( prefix );
+            if ( index > -1 )
+            {
+                line = line.substring( index + prefix.length() );
+            }
+            else
+            {
+                String s = prefix.trim();
+                line = line.startsWith( s ) ? line.substring( s.length() ) : "";
+            }
+            buffer.append( line ).append( LINE_SEPARATOR );
+        }
+        return buffer.toString();
+    }
+
+    @Benchmark
+    public String unboxProcessTag()
+    {
+        return fileHeaderTransformer.unboxProcessTag( processBoxed );
+    }
+
+    @Benchmark
+    public String legacyUnboxProcessTag()
+    {
+        StringBuilder buffer = new StringBuilder();
+        for ( String line : processBoxed.split( LINE_SEPARATOR + "" ) )
+        {
+            if ( StringUtils.isEmpty( line ) || line.contains( fileHeaderTransformer.getProcessStartTag() )
+                || line.contains( fileHeaderTransformer.getProcessEndTag() ) )
+            {
+                continue;
+            }
+            buffer.append( line ).append( LINE_SEPARATOR );
+        }
+        return buffer.toString();
+    }
+
+    @Benchmark
+    public FileHeader toFileHeader()
+    {
+        return fileHeaderTransformer.toFileHeader( text );
+    }
+
+    @Benchmark
+    public FileHeader legacyToFileHeader()
+    {
+        String[] sections = text.split( fileHeaderTransformer.getSectionDelimiter() );
+        if ( sections.length != 3 )
+        {
+            throw new IllegalStateException( "could not find 3 sections in\n" + text );
+        }
+        FileHeader model = new FileHeader();
+        model.setDescription( sections[0].trim() );
+        Matcher matcher = AbstractFileHeaderTransformer.COPYRIGHT_PATTERN.matcher( sections[1].trim() );
+        if ( !matcher.matches() )
+        {
+            throw new IllegalStateException( "copyright [" + sections[1].trim() + "] is not valid" );
+        }
+        String lastYear = matcher.group( 4 );
+        model.setCopyright( Copyright.newCopyright( Integer.valueOf( matcher.group( 2 ) ),
+                                                    lastYear == null ? null : Integer.valueOf( lastYear.trim() ),
+                                                    matcher.group( 5 ).trim() ) );
+        model.setLicense( sections[2].trim() );
+        return model;
+    }
+
+    @Benchmark
+    public boolean isLicenseEquals()
+    {
+        return fileHeaderTransformer.isLicenseEquals( header1, header2 );
+    }
+
+    @Benchmark
+    public boolean legacyIsLicenseEquals()
+    {
+        return removeSpaces( header1.getLicense() ).equals( removeSpaces( header2.getLicense() ) );
+    }
+
+    private static String removeSpaces( String str )
+    {
+        Matcher matcher = REMOVE_SPACE_PATTERN.matcher( str );
+        return matcher.find() ? matcher.replaceAll( "" ) : str;
+    }
+
+    private static FileHeader newHeader( String license )
+    {
+        FileHeader header = new FileHeader();
+        header.setDescription( "description" );
+        header.setCopyright( Copyright.newCopyright( 2010, 2012, "Codehaus" ) );
+        header.setLicense( license );
+        return header;
+    }
+}
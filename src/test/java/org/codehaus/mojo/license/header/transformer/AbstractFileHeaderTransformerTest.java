@@ -306,6 +306,54 @@ public class AbstractFileHeaderTransformerTest
         Assert.assertEquals( header, unboxedHeader );
     }
 
+    @Test
+    public void testToFileHeaderWithLiteralDelimiter()
+        throws Exception
+    {
+        String header = "Description" + LINE_SEPARATOR + DEFAULT_SECTION_DELIMITER + LINE_SEPARATOR +
+            "Copyright (C) 2010 Tony" + LINE_SEPARATOR + DEFAULT_SECTION_DELIMITER + LINE_SEPARATOR + "License" +
+            LINE_SEPARATOR + DEFAULT_SECTION_DELIMITER + DEFAULT_SECTION_DELIMITER;
+
+        // trailing empty sections are ignored
+        assertEquals( model1, transformer.toFileHeader( header ) );
+
+        // the delimiter is not a regular expression
+        transformer.setSectionDelimiter( "***" );
+        assertEquals( model1, transformer.toFileHeader( header.replace( DEFAULT_SECTION_DELIMITER, "***" ) ) );
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void testToFileHeaderWithTooManySections()
+        throws Exception
+    {
+        transformer.toFileHeader( "Description" + DEFAULT_SECTION_DELIMITER + "Copyright (C) 2010 Tony" +
+                                      DEFAULT_SECTION_DELIMITER + "License" + DEFAULT_SECTION_DELIMITER + "Other" );
+    }
+
+    @Test
+    public void testBoxCommentLines()
+        throws Exception
+    {
+        Assert.assertEquals( " * " + LINE_SEPARATOR, transformer.boxComment( "", false ) );
+        Assert.assertEquals( "", transformer.boxComment( "\n\r\n", false ) );
+        Assert.assertEquals( " * a" + LINE_SEPARATOR + " * " + LINE_SEPARATOR + " * b\r" + LINE_SEPARATOR,
+                             transformer.boxComment( "a\r\n\nb\r\r\n\n", false ) );
+    }
+
+    @Test
+    public void testIsLicenseEquals()
+        throws Exception
+    {
+        FileHeader header = new FileHeader();
+        header.setLicense( " License\n\t " );
+        Assert.assertTrue( transformer.isLicenseEquals( header, model1 ) );
+        Assert.assertFalse( transformer.isLicenseEquals( header, model2 ) );
+
+        header.setLicense( "License 2" );
+        Assert.assertTrue( transformer.isLicenseEquals( header, model2 ) );
+        Assert.assertFalse( transformer.isLicenseEquals( header, model1 ) );
+    }
+
     public static void assertEquals( FileHeader model, FileHeader model2 )
     {
         Assert.assertEquals( model.getDescription(), model2.getDescription() );
@@ -61,4 +61,25 @@ public class JavaFileHeaderTransformerTest
 
     }
 
+    @Test
+    public void testHeaderInsertionAfterPackage()
+    {
+        JavaFileHeaderTransformer transformer = new JavaFileHeaderTransformer();
+        transformer.setAddJavaLicenseAfterPackage( true );
+        String separator = FileHeaderTransformer.LINE_SEPARATOR;
+
+        String content = PACKAGE + separator + CONTENT;
+        HeaderInsertion insertion = transformer.getHeaderInsertion( HEADER, content );
+        Assert.assertEquals( PACKAGE.length(), insertion.getStart() );
+        Assert.assertEquals( PACKAGE.length() + separator.length(), insertion.getEnd() );
+        Assert.assertEquals( PACKAGE + separator + separator + HEADER + CONTENT, insertion.apply( content ) );
+        Assert.assertEquals( transformer.addHeader( HEADER, content ), insertion.apply( content ) );
+
+        // package at the end of the file
+        content = PACKAGE;
+        insertion = transformer.getHeaderInsertion( HEADER, content );
+        Assert.assertEquals( content.length(), insertion.getEnd() );
+        Assert.assertEquals( PACKAGE + separator + separator + HEADER, insertion.apply( content ) );
+    }
+
 }
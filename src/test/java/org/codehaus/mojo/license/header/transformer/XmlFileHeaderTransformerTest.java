@@ -75,4 +75,25 @@ public class XmlFileHeaderTransformerTest
         result = transformer.addHeader( header, content );
         Assert.assertEquals( "  " + prolog + '\n' + header + CONTENT, result );
     }
+
+    @Test
+    public void testHeaderInsertionAfterProlog()
+    {
+        String prolog = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+        String separator = FileHeaderTransformer.LINE_SEPARATOR;
+        String content = "  " + prolog + separator + CONTENT;
+
+        HeaderInsertion insertion = transformer.getHeaderInsertion( HEADER, content );
+        Assert.assertEquals( 2 + prolog.length(), insertion.getStart() );
+        Assert.assertEquals( insertion.getStart(), insertion.getEnd() );
+        Assert.assertEquals( "  " + prolog + separator + HEADER + separator + CONTENT, insertion.apply( content ) );
+
+        transformer.setEmptyLineAfterHeader( true );
+        insertion = transformer.getHeaderInsertion( HEADER, content );
+        // the rest of the prolog line is empty
+        Assert.assertEquals( "  " + prolog + separator + HEADER + separator + CONTENT, insertion.apply( content ) );
+
+        insertion = transformer.getHeaderInsertion( HEADER, CONTENT );
+        Assert.assertEquals( HEADER + separator + CONTENT, insertion.apply( CONTENT ) );
+    }
 }
@@ -0,0 +1,150 @@
+package org.codehaus.mojo.license.model;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+public class LicenseMapTest {
+
+    private LicenseMap licenseMap;
+    private MavenProject first;
+    private MavenProject second;
+
+    @Before
+    public void setUp() {
+        licenseMap = new LicenseMap();
+        first = newProject("first");
+        second = newProject("second");
+    }
+
+    @Test
+    public void testToDependencyMap() {
+        licenseMap.put("MIT", first);
+        licenseMap.put("Apache-2.0", first);
+        licenseMap.put("MIT", second);
+
+        SortedMap<MavenProject, String[]> dependencyMap = licenseMap.toDependencyMap();
+
+        Assert.assertEquals(Arrays.asList(first, second), Arrays.asList(dependencyMap.keySet().toArray()));
+        Assert.assertArrayEquals(new String[]{"Apache-2.0", "MIT"}, dependencyMap.get(first));
+        Assert.assertArrayEquals(new String[]{"MIT"}, dependencyMap.get(second));
+    }
+
+    @Test
+    public void testRemoveProject() {
+        licenseMap.put("MIT", first);
+        licenseMap.put("Apache-2.0", first);
+        licenseMap.put("MIT", second);
+
+        licenseMap.removeProject(first);
+
+        Assert.assertTrue(licenseMap.get("Apache-2.0").isEmpty());
+        Assert.assertEquals(1, licenseMap.get("MIT").size());
+        Assert.assertEquals(1, licenseMap.toDependencyMap().size());
+        Assert.assertNotNull(licenseMap.toDependencyMap().get(second));
+    }
+
+    @Test
+    public void testIndexFollowsRemovedProjects() {
+        licenseMap.put(LicenseMap.UNKNOWN_LICENSE_MESSAGE, first);
+        licenseMap.put(LicenseMap.UNKNOWN_LICENSE_MESSAGE, second);
+        SortedSet<MavenProject> unknown = licenseMap.get(LicenseMap.UNKNOWN_LICENSE_MESSAGE);
+
+        Assert.assertTrue(licenseMap.remove(LicenseMap.UNKNOWN_LICENSE_MESSAGE, first));
+        Assert.assertFalse(licenseMap.remove(LicenseMap.UNKNOWN_LICENSE_MESSAGE, first));
+        Assert.assertFalse(licenseMap.remove("MIT", second));
+        Assert.assertEquals(Arrays.asList(second), Arrays.asList(unknown.toArray()));
+
+        Assert.assertTrue(licenseMap.remove(LicenseMap.UNKNOWN_LICENSE_MESSAGE, second));
+        Assert.assertTrue(unknown.isEmpty());
+        Assert.assertTrue(licenseMap.containsKey(LicenseMap.UNKNOWN_LICENSE_MESSAGE));
+        Assert.assertTrue(licenseMap.toDependencyMap().isEmpty());
+    }
+
+    @Test
+    public void testIndexFollowsRemovedLicenses() {
+        licenseMap.put("MIT", first);
+        licenseMap.putAll("Apache-2.0", Arrays.asList(first, second));
+        licenseMap.putAll("BSD", Collections.<MavenProject>emptyList());
+        Assert.assertEquals(3, licenseMap.size());
+
+        SortedSet<MavenProject> removed = licenseMap.remove("Apache-2.0");
+        Assert.assertEquals(2, removed.size());
+        Assert.assertNull(licenseMap.remove("Apache-2.0"));
+        Assert.assertEquals(Arrays.asList(first), Arrays.asList(licenseMap.toDependencyMap().keySet().toArray()));
+
+        licenseMap.removeEmptyLicenses();
+        Assert.assertEquals(Arrays.asList("MIT"), Arrays.asList(licenseMap.keySet().toArray()));
+    }
+
+    @Test
+    public void testPutAllLicenseMap() {
+        licenseMap.put("MIT", first);
+        LicenseMap other = new LicenseMap();
+        other.put("MIT", second);
+        other.put("BSD", second);
+
+        licenseMap.putAll(other);
+
+        Assert.assertEquals(2, licenseMap.get("MIT").size());
+        Assert.assertArrayEquals(new String[]{"BSD", "MIT"}, licenseMap.toDependencyMap().get(second));
+        other.removeProject(second);
+        Assert.assertArrayEquals(new String[]{"BSD", "MIT"}, licenseMap.toDependencyMap().get(second));
+    }
+
+    @Test
+    public void testViewsAreReadOnly() {
+        licenseMap.put("MIT", first);
+
+        assertUnsupported(() -> licenseMap.get("MIT").remove(first));
+        assertUnsupported(() -> licenseMap.put("MIT", second).add(first));
+        assertUnsupported(() -> licenseMap.keySet().remove("MIT"));
+        assertUnsupported(() -> licenseMap.entrySet().iterator().next().setValue(new TreeSet<>()));
+        assertUnsupported(() -> licenseMap.entrySet().iterator().next().getValue().clear());
+        Assert.assertArrayEquals(new String[]{"MIT"}, licenseMap.toDependencyMap().get(first));
+    }
+
+    @Test
+    public void testToLicenseMapOrderByName() {
+        licenseMap.put("MIT", second);
+        licenseMap.put("MIT", first);
+
+        LicenseMap byName = licenseMap.toLicenseMapOrderByName();
+        byName.removeProject(first);
+
+        Assert.assertEquals(Arrays.asList(second), Arrays.asList(byName.get("MIT").toArray()));
+        Assert.assertEquals(2, licenseMap.get("MIT").size());
+        Assert.assertEquals(Arrays.asList(second), Arrays.asList(byName.toDependencyMap().keySet().toArray()));
+    }
+
+    private static void assertUnsupported(Runnable modification) {
+        try {
+            modification.run();
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    private static MavenProject newProject(String artifactId) {
+        Artifact artifact = new DefaultArtifact("org.example", artifactId, VersionRange.createFromVersion("1.0"),
+                Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setArtifact(artifact);
+        return project;
+    }
+}
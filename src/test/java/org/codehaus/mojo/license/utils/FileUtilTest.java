@@ -0,0 +1,61 @@
+package org.codehaus.mojo.license.utils;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class FileUtilTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSpliceKeepsRemainingBytes() throws IOException {
+        // the rest of the file keeps its line endings, not normalized by a splice
+        String content = "<?xml version=\"1.0\"?>\r\n<project>été</project>\r\n";
+        File source = write("pom.xml", content.getBytes(StandardCharsets.UTF_8));
+        File target = new File(folder.getRoot(), "out/pom.xml");
+
+        int end = content.indexOf('\r');
+        String head = content.substring(0, end) + "\n<!-- header -->";
+        Assert.assertTrue(FileUtil.spliceFile(source, content, end, head, target, "UTF-8"));
+
+        Assert.assertEquals(head + content.substring(end),
+                new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNoSpliceWhenContentDoesNotMatchFile() throws IOException {
+        // malformed UTF-8 sequence, decoded as a replacement character
+        File source = write("A.java", new byte[]{'a', (byte) 0xC3, 'b', 'c'});
+        File target = new File(folder.getRoot(), "B.java");
+        String content = FileUtil.readAsString(source, "UTF-8");
+
+        Assert.assertFalse(FileUtil.spliceFile(source, content, 3, "header", target, "UTF-8"));
+        Assert.assertFalse(FileUtil.spliceFile(source, "abc", 1, "header", target, "UTF-16"));
+        Assert.assertFalse(target.exists());
+    }
+
+    @Test
+    public void testReplaceFile() throws IOException {
+        File file = write("A.java", "new".getBytes(StandardCharsets.UTF_8));
+        File destination = write("B.java", "old".getBytes(StandardCharsets.UTF_8));
+
+        FileUtil.replaceFile(file, destination);
+
+        Assert.assertFalse(file.exists());
+        Assert.assertEquals("new", new String(Files.readAllBytes(destination.toPath()), StandardCharsets.UTF_8));
+    }
+
+    private File write(String name, byte[] content) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content);
+        return file;
+    }
+}
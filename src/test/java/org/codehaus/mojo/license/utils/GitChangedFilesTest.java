@@ -0,0 +1,102 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+public class GitChangedFilesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testChangedSinceMergeBase() throws Exception {
+        File repository = folder.newFolder("repository");
+        Assume.assumeTrue(git(repository, "init", "-q"));
+        write(repository, "src/Modified.java");
+        write(repository, "src/Unchanged.java");
+        write(repository, "src/Deleted.java");
+        write(repository, "src/Renamed.java");
+        commit(repository, "base");
+        Assert.assertTrue(git(repository, "branch", "base"));
+
+        write(repository, "src/Modified.java");
+        write(repository, "src/Added.java");
+        Assert.assertTrue(git(repository, "rm", "-q", "src/Deleted.java"));
+        Assert.assertTrue(git(repository, "mv", "src/Renamed.java", "src/NewName.java"));
+        commit(repository, "change");
+        write(repository, "src/Untracked.java");
+
+        File sources = new File(repository, "src");
+        Assert.assertEquals(
+                new HashSet<>(Arrays.asList("Modified.java", "Added.java", "NewName.java", "Untracked.java")),
+                names(GitChangedFiles.changedSince(sources, "base", new SystemStreamLog())));
+    }
+
+    @Test(timeout = 60000)
+    public void testLargeErrorOutputDoesNotBlock() throws Exception {
+        Assume.assumeTrue(new File("/bin/sh").canExecute());
+        // far more than a pipe buffer holds
+        List<String> lines = GitChangedFiles.run(folder.getRoot(), Arrays.asList("/bin/sh", "-c",
+                "i=0; while [ $i -lt 20000 ]; do echo \"warning: line $i of the error output\" >&2; i=$((i+1)); done;"
+                        + " echo done"));
+        Assert.assertEquals(Arrays.asList("done"), lines);
+    }
+
+    @Test
+    public void testFailureReportsErrorOutput() throws Exception {
+        Assume.assumeTrue(new File("/bin/sh").canExecute());
+        try {
+            GitChangedFiles.run(folder.getRoot(), Arrays.asList("/bin/sh", "-c", "echo out; echo failure >&2; exit 3"));
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().endsWith(": failure"));
+        }
+    }
+
+    private static HashSet<String> names(Iterable<File> files) {
+        HashSet<String> names = new HashSet<>();
+        for (File file : files) {
+            Assert.assertTrue(file.isFile());
+            names.add(file.getName());
+        }
+        return names;
+    }
+
+    private static void write(File repository, String path) throws IOException {
+        File file = new File(repository, path);
+        Assert.assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        Files.write(file.toPath(), (path + System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void commit(File repository, String message) throws Exception {
+        Assert.assertTrue(git(repository, "add", "-A"));
+        Assert.assertTrue(git(repository, "-c", "user.name=test", "-c", "user.email=test@example.org",
+                "commit", "-q", "-m", message));
+    }
+
+    private static boolean git(File directory, String... arguments) throws InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(arguments));
+        try {
+            Process process = new ProcessBuilder(command).directory(directory).inheritIO().start();
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            // no git binary
+            return false;
+        }
+    }
+}
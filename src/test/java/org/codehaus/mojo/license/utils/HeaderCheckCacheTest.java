@@ -0,0 +1,79 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class HeaderCheckCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testOutcomeOfUnchangedFileIsKept() throws IOException {
+        File cacheFile = new File(folder.getRoot(), "cache/header-check-cache.properties");
+        File source = write("A.java", "class A {}");
+
+        HeaderCheckCache cache = HeaderCheckCache.load(cacheFile, "configuration", new SystemStreamLog());
+        Assert.assertNull(cache.get(source, "java"));
+        cache.put(source, "java", "uptodate");
+        cache.save();
+
+        cache = HeaderCheckCache.load(cacheFile, "configuration", new SystemStreamLog());
+        Assert.assertEquals("uptodate", cache.get(source, "java"));
+        Assert.assertNull(cache.get(source, "java with another description"));
+
+        // only touched
+        Assert.assertTrue(source.setLastModified(source.lastModified() - 10000));
+        Assert.assertEquals("uptodate", cache.get(source, "java"));
+
+        write("A.java", "class AB {}");
+        Assert.assertNull(cache.get(source, "java"));
+    }
+
+    @Test
+    public void testCacheIsDiscardedWhenConfigurationChanges() throws IOException {
+        File cacheFile = new File(folder.getRoot(), "header-check-cache.properties");
+        File source = write("A.java", "class A {}");
+
+        HeaderCheckCache cache = HeaderCheckCache.load(cacheFile, "configuration", new SystemStreamLog());
+        cache.put(source, "java", "add");
+        cache.save();
+
+        cache = HeaderCheckCache.load(cacheFile, "other configuration", new SystemStreamLog());
+        Assert.assertNull(cache.get(source, "java"));
+    }
+
+    @Test
+    public void testOnlyCheckedFilesAreSaved() throws IOException {
+        File cacheFile = new File(folder.getRoot(), "header-check-cache.properties");
+        File first = write("A.java", "class A {}");
+        File second = write("B.java", "class B {}");
+
+        HeaderCheckCache cache = HeaderCheckCache.load(cacheFile, "configuration", new SystemStreamLog());
+        cache.put(first, "java", "add");
+        cache.put(second, "java", "add");
+        cache.save();
+
+        cache = HeaderCheckCache.load(cacheFile, "configuration", new SystemStreamLog());
+        Assert.assertEquals("add", cache.get(first, "java"));
+        cache.save();
+
+        cache = HeaderCheckCache.load(cacheFile, "configuration", new SystemStreamLog());
+        Assert.assertEquals("add", cache.get(first, "java"));
+        Assert.assertNull(cache.get(second, "java"));
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
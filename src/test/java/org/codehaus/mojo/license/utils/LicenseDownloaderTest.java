@@ -0,0 +1,112 @@
+package org.codehaus.mojo.license.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LicenseDownloaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger fullResponses = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/first", exchange -> redirect(exchange, "/second"));
+        server.createContext("/second", exchange -> redirect(exchange, "/license"));
+        server.createContext("/loop", exchange -> redirect(exchange, "/loop"));
+        server.createContext("/license", exchange -> {
+            byte[] body = "MIT License".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/etag", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            byte[] body = "Apache License".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testFollowsRedirects() throws IOException {
+        File outputFile = new File(folder.getRoot(), "mit");
+        try (LicenseDownloader downloader = new LicenseDownloader(null, null, 2)) {
+            downloader.downloadLicense(baseUrl + "/first", outputFile);
+        }
+
+        File downloaded = new File(folder.getRoot(), "mit.txt");
+        Assert.assertEquals("MIT License", new String(Files.readAllBytes(downloaded.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRevalidatesStoredText() throws IOException {
+        LicenseTextStore textStore = new LicenseTextStore(folder.newFolder("store"), new SystemStreamLog());
+        try (LicenseDownloader downloader = new LicenseDownloader(null, null, 1, textStore)) {
+            downloader.downloadLicense(baseUrl + "/etag", new File(folder.getRoot(), "first"));
+            downloader.downloadLicense(baseUrl + "/etag", new File(folder.getRoot(), "second"));
+        }
+
+        Assert.assertEquals(1, fullResponses.get());
+        File second = new File(folder.getRoot(), "second.txt");
+        Assert.assertEquals("Apache License", new String(Files.readAllBytes(second.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void testNotFound() throws IOException {
+        try (LicenseDownloader downloader = new LicenseDownloader(null, null, 1)) {
+            downloader.downloadLicense(baseUrl + "/missing", new File(folder.getRoot(), "missing"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRedirectLoop() throws IOException {
+        try (LicenseDownloader downloader = new LicenseDownloader(null, null, 1)) {
+            downloader.downloadLicense(baseUrl + "/loop", new File(folder.getRoot(), "loop"));
+        }
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,161 @@
+package org.codehaus.mojo.license.utils;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LicenseRegistryClientTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File remote;
+
+    private File work;
+
+    private Path cache;
+
+    @Before
+    public void setUp() throws Exception {
+        remote = folder.newFolder("remote.git");
+        work = folder.newFolder("work");
+        cache = folder.getRoot().toPath().resolve("cache");
+        Assume.assumeTrue(git(remote, "init", "-q", "--bare"));
+        Assert.assertTrue(git(remote, "symbolic-ref", "HEAD", "refs/heads/master"));
+        Assert.assertTrue(git(work, "init", "-q"));
+        write("licenses-whitelist.txt", "Apache License 2.0 | MIT License");
+        write("merges.txt", "Apache License 2.0|ASL 2\nMIT License|MIT\nASL 2|Apache 2");
+        write("licenses.properties", "MIT\\ License=https://opensource.org/licenses/MIT");
+        write("thirdparty-licenses.properties", "org.example--example--1.0=MIT License");
+        write("templates/third-party-file.ftl", "template");
+        write("licenses/mit.txt", "revision 1");
+        push("revision 1");
+    }
+
+    @Test
+    public void testMirror() throws Exception {
+        LicenseRegistryClient client = newClient(0, false);
+        Assert.assertEquals("revision 1", client.getFileContent("licenses/mit.txt"));
+        Assert.assertEquals("template", client.getFileContent("templates/third-party-file.ftl"));
+        Assert.assertTrue(Files.isDirectory(cache));
+
+        try {
+            client.getFileContent(".license-registry-checked");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            client.getFileContent("missing.txt");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        write("licenses/mit.txt", "revision 2");
+        push("revision 2");
+        Assert.assertEquals("revision 1", client.getFileContent("licenses/mit.txt"));
+        Assert.assertEquals("revision 2", newClient(0, false).getFileContent("licenses/mit.txt"));
+    }
+
+    @Test
+    public void testStaleness() throws Exception {
+        newClient(60, false);
+        write("licenses/mit.txt", "revision 2");
+        push("revision 2");
+
+        Assert.assertEquals("revision 1", newClient(60, false).getFileContent("licenses/mit.txt"));
+        Assert.assertEquals("revision 2", newClient(0, false).getFileContent("licenses/mit.txt"));
+    }
+
+    @Test
+    public void testOffline() throws Exception {
+        try {
+            newClient(0, true);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // expected, nothing to use
+        }
+
+        newClient(0, false);
+        write("licenses/mit.txt", "revision 2");
+        push("revision 2");
+        Assert.assertEquals("revision 1", newClient(0, true).getFileContent("licenses/mit.txt"));
+    }
+
+    @Test
+    public void testUpdateFailureUsesClone() throws Exception {
+        newClient(0, false);
+        Assert.assertTrue(remote.renameTo(new File(folder.getRoot(), "moved.git")));
+
+        Assert.assertEquals("revision 1", newClient(0, false).getFileContent("licenses/mit.txt"));
+    }
+
+    @Test
+    public void testParsedViews() throws Exception {
+        LicenseRegistryClient client = newClient(0, false);
+
+        Assert.assertEquals(Arrays.asList("Apache License 2.0", "MIT License"),
+                client.getLicenseList("licenses-whitelist.txt"));
+        Assert.assertSame(client.getLicenseList("licenses-whitelist.txt"),
+                client.getLicenseList("licenses-whitelist.txt"));
+
+        Assert.assertEquals(Arrays.asList("Apache License 2.0|ASL 2", "MIT License|MIT", "ASL 2|Apache 2"),
+                client.getLicenseMerges());
+        Assert.assertEquals(Arrays.asList("Apache License 2.0", "ASL 2"), client.getLicenseSynonyms().get("ASL 2"));
+        Assert.assertEquals(Arrays.asList("ASL 2", "Apache 2"), client.getLicenseSynonyms().get("Apache 2"));
+        Assert.assertNull(client.getLicenseSynonyms().get("GPL"));
+
+        Assert.assertEquals("MIT License",
+                client.getLicenseOverrides("thirdparty-licenses.properties").get("org.example--example--1.0"));
+        Assert.assertEquals("https://opensource.org/licenses/MIT", client.getLicenseUrls().get("MIT License"));
+        try {
+            client.getLicenseUrls().put("GPL", "https://www.gnu.org/licenses/gpl.html");
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    private LicenseRegistryClient newClient(long stalenessMinutes, boolean offline) {
+        return new LicenseRegistryClient("file://" + remote.getAbsolutePath(), cache, stalenessMinutes, offline);
+    }
+
+    private void write(String path, String content) throws IOException {
+        File file = new File(work, path);
+        Assert.assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void push(String message) throws Exception {
+        Assert.assertTrue(git(work, "add", "-A"));
+        Assert.assertTrue(git(work, "-c", "user.name=test", "-c", "user.email=test@example.org",
+                "commit", "-q", "-m", message));
+        Assert.assertTrue(git(work, "push", "-q", remote.getAbsolutePath(), "HEAD:refs/heads/master"));
+    }
+
+    private static boolean git(File directory, String... arguments) throws InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(arguments));
+        try {
+            Process process = new ProcessBuilder(command).directory(directory).inheritIO().start();
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            // no git binary
+            return false;
+        }
+    }
+}
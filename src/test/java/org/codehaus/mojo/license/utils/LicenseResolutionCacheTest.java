@@ -0,0 +1,148 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.model.License;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.LicenseProcessor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class LicenseResolutionCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<MavenProject> lookedUp = new ArrayList<>();
+
+    private final LicenseProcessor processor = new LicenseProcessor() {
+        @Override
+        public List<License> getLicensesByProject(MavenProject project) {
+            try {
+                return resolveLicenses(project);
+            } catch (IOException e) {
+                return Collections.emptyList();
+            }
+        }
+
+        @Override
+        public List<License> resolveLicenses(MavenProject project) throws IOException {
+            lookedUp.add(project);
+            if ("unknown".equals(project.getArtifactId())) {
+                return Collections.emptyList();
+            }
+            if ("failing".equals(project.getArtifactId())) {
+                throw new IOException("Unknown status code: 503");
+            }
+            License license = new License();
+            license.setName("Apache-2.0");
+            license.setUrl("https://www.apache.org/licenses/LICENSE-2.0");
+            return Collections.singletonList(license);
+        }
+    };
+
+    private File directory;
+
+    private LicenseResolutionCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.newFolder();
+        cache = new LicenseResolutionCache(directory, 1, 1, false, new SystemStreamLog());
+    }
+
+    @Test
+    public void testHitAfterFirstLookup() {
+        MavenProject release = newProject("known", "1.0");
+
+        cache.getLicensesByProjects("xray", Collections.singletonList(release), processor);
+        Map<MavenProject, List<License>> result =
+                cache.getLicensesByProjects("xray", Collections.singletonList(release), processor);
+
+        Assert.assertEquals(1, lookedUp.size());
+        List<License> licenses = result.get(release);
+        Assert.assertEquals(1, licenses.size());
+        Assert.assertEquals("Apache-2.0", licenses.get(0).getName());
+        Assert.assertEquals("https://www.apache.org/licenses/LICENSE-2.0", licenses.get(0).getUrl());
+    }
+
+    @Test
+    public void testNegativeResultIsCached() {
+        MavenProject unknown = newProject("unknown", "1.0");
+
+        cache.getLicensesByProjects("xray", Collections.singletonList(unknown), processor);
+        Map<MavenProject, List<License>> result =
+                cache.getLicensesByProjects("xray", Collections.singletonList(unknown), processor);
+
+        Assert.assertEquals(1, lookedUp.size());
+        Assert.assertTrue(result.get(unknown).isEmpty());
+    }
+
+    @Test
+    public void testFailedLookupIsNotCached() throws IOException {
+        MavenProject failing = newProject("failing", "1.0");
+        MavenProject known = newProject("known", "1.0");
+
+        Map<MavenProject, List<License>> result =
+                cache.getLicensesByProjects("xray", Arrays.asList(failing, known), processor);
+
+        Assert.assertEquals(Arrays.asList(failing, known), new ArrayList<>(result.keySet()));
+        Assert.assertTrue(result.get(failing).isEmpty());
+        Assert.assertFalse(new File(directory, "xray/org.example/failing").exists());
+        Assert.assertTrue(new File(directory, "xray/org.example/known/1.0.properties").isFile());
+
+        cache.getLicensesByProjects("xray", Collections.singletonList(failing), processor);
+        Assert.assertEquals(3, lookedUp.size());
+    }
+
+    @Test
+    public void testSnapshotIsAlwaysLookedUp() {
+        MavenProject snapshot = newProject("known", "1.0-SNAPSHOT");
+
+        cache.getLicensesByProjects("xray", Collections.singletonList(snapshot), processor);
+        cache.getLicensesByProjects("xray", Collections.singletonList(snapshot), processor);
+
+        Assert.assertEquals(2, lookedUp.size());
+    }
+
+    @Test
+    public void testSourcesAreKeptApart() {
+        MavenProject release = newProject("known", "1.0");
+
+        cache.getLicensesByProjects("xray", Collections.singletonList(release), processor);
+        cache.getLicensesByProjects("sonatype", Collections.singletonList(release), processor);
+
+        Assert.assertEquals(2, lookedUp.size());
+    }
+
+    @Test
+    public void testResultKeepsProjectOrder() {
+        MavenProject first = newProject("known", "2.0");
+        MavenProject second = newProject("unknown", "2.0");
+        MavenProject third = newProject("other", "2.0");
+        cache.getLicensesByProjects("xray", Collections.singletonList(second), processor);
+
+        Map<MavenProject, List<License>> result =
+                cache.getLicensesByProjects("xray", Arrays.asList(first, second, third), processor);
+
+        Assert.assertEquals(Arrays.asList(first, second, third), new ArrayList<>(result.keySet()));
+    }
+
+    private static MavenProject newProject(String artifactId, String version) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("org.example");
+        project.setArtifactId(artifactId);
+        project.setVersion(version);
+        return project;
+    }
+}
@@ -0,0 +1,54 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class LicenseTextStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameTextStoredOnce() throws IOException {
+        File directory = folder.newFolder("store");
+        LicenseTextStore store = new LicenseTextStore(directory, new SystemStreamLog());
+
+        LicenseTextStore.Entry first = store.store("https://example.org/first", text("MIT License"), "text/plain",
+                "\"v1\"", null);
+        LicenseTextStore.Entry second = store.store("https://example.org/second", text("MIT License"), null, null,
+                "Thu, 01 Jan 2015 00:00:00 GMT");
+
+        Assert.assertEquals(first.getHash(), second.getHash());
+        Assert.assertEquals(1, new File(directory, "texts").list().length);
+    }
+
+    @Test
+    public void testEntryIsReadBack() throws IOException {
+        LicenseTextStore store = new LicenseTextStore(folder.newFolder("store"), new SystemStreamLog());
+        store.store("https://example.org/mit", text("MIT License"), "text/plain", "\"v1\"", null);
+
+        LicenseTextStore.Entry entry = new LicenseTextStore(folder.getRoot().toPath().resolve("store").toFile(),
+                new SystemStreamLog()).getEntry("https://example.org/mit");
+        File target = new File(folder.getRoot(), "mit.txt");
+        store.copyText(entry, target);
+
+        Assert.assertEquals("text/plain", entry.getContentType());
+        Assert.assertEquals("\"v1\"", entry.getEtag());
+        Assert.assertNull(entry.getLastModified());
+        Assert.assertEquals("MIT License", new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+        Assert.assertNull(store.getEntry("https://example.org/other"));
+    }
+
+    private static ByteArrayInputStream text(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
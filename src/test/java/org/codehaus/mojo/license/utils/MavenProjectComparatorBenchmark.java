@@ -0,0 +1,121 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2010 - 2011 Codehaus
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills a sorted set of projects with {@link MojoHelper#newMavenProjectComparator()} and with the comparator it
+ * replaced, which built both {@code groupId--artifactId--version} ids on every comparison. Add {@code -prof gc} to
+ * the JMH arguments to see the allocations per operation ({@code gc.alloc.rate.norm}), e.g.
+ * {@code mvn -Pbenchmark -Djmh.args="MavenProjectComparatorBenchmark -prof gc"}.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class MavenProjectComparatorBenchmark
+{
+
+    private static final Comparator<MavenProject> LEGACY_COMPARATOR = new Comparator<MavenProject>()
+    {
+        public int compare( MavenProject o1, MavenProject o2 )
+        {
+            String id1 = MojoHelper.getArtifactId( o1.getArtifact() );
+            String id2 = MojoHelper.getArtifactId( o2.getArtifact() );
+            return id1.compareTo( id2 );
+        }
+    };
+
+    @Param( { "100", "1000" } )
+    public int projectCount;
+
+    private final Comparator<MavenProject> comparator = MojoHelper.newMavenProjectComparator();
+
+    private List<MavenProject> projects;
+
+    @Setup
+    public void setUp()
+    {
+        projects = new ArrayList<MavenProject>( projectCount );
+        for ( int i = 0; i < projectCount; i++ )
+        {
+            // a few groups with many artifacts and versions, as in a real dependency tree
+            projects.add( newProject( "org.example.group" + ( i % 10 ), "artifact" + ( i % 37 ), "1." + i ) );
+        }
+        Collections.shuffle( projects, new Random( 42 ) );
+    }
+
+    @Benchmark
+    public TreeSet<MavenProject> comparator()
+    {
+        TreeSet<MavenProject> result = new TreeSet<MavenProject>( comparator );
+        result.addAll( projects );
+        return result;
+    }
+
+    @Benchmark
+    public TreeSet<MavenProject> legacy()
+    {
+        TreeSet<MavenProject> result = new TreeSet<MavenProject>( LEGACY_COMPARATOR );
+        result.addAll( projects );
+        return result;
+    }
+
+    private static MavenProject newProject( String groupId, String artifactId, String version )
+    {
+        MavenProject project = new MavenProject();
+        project.setGroupId( groupId );
+        project.setArtifactId( artifactId );
+        project.setVersion( version );
+        project.setArtifact( new DefaultArtifact( groupId, artifactId, VersionRange.createFromVersion( version ),
+                                                  Artifact.SCOPE_COMPILE, "jar", null,
+                                                  new DefaultArtifactHandler( "jar" ) ) );
+        return project;
+    }
+}
@@ -0,0 +1,39 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MojoHelperTest {
+
+    @Test
+    public void testCompareArtifactIdsMatchesIdOrder() {
+        List<Artifact> artifacts = new ArrayList<>();
+        for (String groupId : new String[]{"a", "a-", "a--b", "a-b", "ab", "b"}) {
+            for (String artifactId : new String[]{"x", "x-", "x-y", "xy"}) {
+                for (String version : new String[]{"1", "1.0", "1-"}) {
+                    artifacts.add(newArtifact(groupId, artifactId, version));
+                }
+            }
+        }
+
+        for (Artifact a1 : artifacts) {
+            for (Artifact a2 : artifacts) {
+                int expected = Integer.signum(MojoHelper.getArtifactId(a1).compareTo(MojoHelper.getArtifactId(a2)));
+                Assert.assertEquals(MojoHelper.getArtifactId(a1) + " <> " + MojoHelper.getArtifactId(a2),
+                        expected, Integer.signum(MojoHelper.compareArtifactIds(a1, a2)));
+            }
+        }
+    }
+
+    private static Artifact newArtifact(String groupId, String artifactId, String version) {
+        return new DefaultArtifact(groupId, artifactId, VersionRange.createFromVersion(version),
+                Artifact.SCOPE_COMPILE, "jar", null, new DefaultArtifactHandler("jar"));
+    }
+}
@@ -0,0 +1,49 @@
+package org.codehaus.mojo.license.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class ParallelLookupTest {
+
+    @Test
+    public void testResultKeepsKeyOrder() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 20; i > 0; i--) {
+            keys.add(i);
+        }
+
+        Map<Integer, String> result = ParallelLookup.lookup(keys, 4, "test", key -> {
+            try {
+                // smaller keys complete first
+                Thread.sleep(key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v" + key;
+        });
+
+        Assert.assertEquals(keys, new ArrayList<>(result.keySet()));
+        Assert.assertEquals("v20", result.get(20));
+        Assert.assertEquals("v1", result.get(1));
+    }
+
+    @Test
+    public void testSequential() {
+        Map<String, Integer> result = ParallelLookup.lookup(Arrays.asList("a", "bb", "ccc"), 1, "test", String::length);
+
+        Assert.assertEquals(Arrays.asList("a", "bb", "ccc"), new ArrayList<>(result.keySet()));
+        Assert.assertEquals(Integer.valueOf(3), result.get("ccc"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFailurePropagates() {
+        ParallelLookup.lookup(Arrays.asList("a", "b"), 2, "test", key -> {
+            throw new IllegalArgumentException(key);
+        });
+    }
+}
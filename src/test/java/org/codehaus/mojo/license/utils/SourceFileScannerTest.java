@@ -0,0 +1,106 @@
+package org.codehaus.mojo.license.utils;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class SourceFileScannerTest {
+
+    private static final String[] FILES = {
+            "main/java/org/A.java", "main/java/org/B.properties", "main/java/org/site/C.java",
+            "main/resources/D.xml", "main/resources/nested/E.java", "target/F.java", "G.txt", "Dockerfile"};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameFilesAsDirectoryScanner() throws IOException {
+        File root = newTree("root");
+
+        assertSameFiles(root, new String[]{"**/*"}, null);
+        assertSameFiles(root, new String[]{"**/*.java"}, new String[]{"**/site/**", "target/"});
+        assertSameFiles(root, new String[]{"main/"}, new String[]{"**/*.xml"});
+        assertSameFiles(root, new String[]{"main\\java\\**", "*.txt"}, new String[]{"**/nested/**"});
+        assertSameFiles(root, new String[]{"%regex[.*\\.java]"}, new String[]{"%regex[target.*]"});
+    }
+
+    @Test
+    public void testFilesAreClassifiedByRootOrder() throws IOException {
+        File first = newTree("first");
+        File second = newTree("second");
+        File missing = new File(folder.getRoot(), "missing");
+
+        Map<String, List<File>> result = new SourceFileScanner(new String[]{"**/*"}, null, new SystemStreamLog())
+                .scan(Arrays.asList(second, missing, first), 3, file -> {
+                    String name = file.getName();
+                    return name.endsWith(".java") ? "java" : name.equals("Dockerfile") ? "properties" : null;
+                });
+
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("java", "properties")), result.keySet());
+        List<File> javaFiles = result.get("java");
+        Assert.assertEquals(8, javaFiles.size());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(javaFiles.get(i).getPath().startsWith(second.getPath()));
+            Assert.assertTrue(javaFiles.get(i + 4).getPath().startsWith(first.getPath()));
+        }
+        Assert.assertEquals(2, result.get("properties").size());
+    }
+
+    @Test
+    public void testSelectAmongGivenFiles() throws IOException {
+        File root = newTree("root");
+        File outside = folder.newFile("Outside.java");
+
+        Map<String, List<File>> result = new SourceFileScanner(new String[]{"**/*.java"}, new String[]{"target/**"},
+                new SystemStreamLog()).select(Collections.singletonList(root),
+                Arrays.asList(new File(root, "main/java/org/A.java"), new File(root, "main/java/org/B.properties"),
+                        new File(root, "target/F.java"), outside), file -> "java");
+
+        Assert.assertEquals(Collections.singletonList(new File(root, "main/java/org/A.java")), result.get("java"));
+    }
+
+    private void assertSameFiles(File root, String[] includes, String[] excludes) {
+        DirectoryScanner ds = new DirectoryScanner();
+        ds.setIncludes(includes);
+        if (excludes != null) {
+            ds.setExcludes(excludes);
+        }
+        ds.setBasedir(root);
+        ds.scan();
+        Set<File> expected = new TreeSet<>();
+        for (String path : ds.getIncludedFiles()) {
+            expected.add(new File(root, path));
+        }
+
+        Map<String, List<File>> result = new SourceFileScanner(includes, excludes, new SystemStreamLog())
+                .scan(Collections.singletonList(root), 1, file -> "all");
+        Set<File> actual = new TreeSet<>();
+        if (result.containsKey("all")) {
+            actual.addAll(result.get("all"));
+        }
+
+        Assert.assertEquals(Arrays.toString(includes) + " - " + Arrays.toString(excludes), expected, actual);
+    }
+
+    private File newTree(String name) throws IOException {
+        File root = folder.newFolder(name);
+        for (String path : FILES) {
+            File file = new File(root, path);
+            Assert.assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+            Assert.assertTrue(file.createNewFile());
+        }
+        return root;
+    }
+}